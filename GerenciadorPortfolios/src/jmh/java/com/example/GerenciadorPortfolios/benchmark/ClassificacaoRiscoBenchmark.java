@@ -0,0 +1,28 @@
+package com.example.GerenciadorPortfolios.benchmark;
+
+import com.example.GerenciadorPortfolios.model.enums.ClassificacaoRisco;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ClassificacaoRiscoBenchmark {
+
+    // Um caso por faixa de risco, para que o resultado não dependa de um único ramo
+    private final BigDecimal[] orcamentos = {
+            new BigDecimal("50000"), new BigDecimal("300000"), new BigDecimal("900000")};
+    private final LocalDate inicio = LocalDate.of(2025, 1, 1);
+    private final LocalDate[] terminos = {
+            LocalDate.of(2025, 3, 1), LocalDate.of(2025, 5, 15), LocalDate.of(2026, 1, 1)};
+    private int indice;
+
+    @Benchmark
+    public ClassificacaoRisco calcular() {
+        int i = indice++ % 3;
+        return ClassificacaoRisco.calcular(orcamentos[i], inicio, terminos[i]);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.GerenciadorPortfolios.benchmark;
+
+import com.example.GerenciadorPortfolios.dto.ProjetoDTO;
+import com.example.GerenciadorPortfolios.mapper.ProjetoMapper;
+import com.example.GerenciadorPortfolios.model.Membro;
+import com.example.GerenciadorPortfolios.model.Projeto;
+import com.example.GerenciadorPortfolios.model.enums.StatusProjeto;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ProjetoMapperBenchmark {
+
+    // Projetos têm de 1 a 10 membros
+    @Param({"1", "10"})
+    private int quantidadeMembros;
+
+    private final ProjetoMapper projetoMapper = ProjetoMapper.INSTANCE;
+    private Projeto projeto;
+
+    @Setup
+    public void setUp() {
+        Set<Membro> membros = new HashSet<>();
+        for (long i = 1; i <= quantidadeMembros; i++) {
+            membros.add(Membro.builder().id(i).nome("Membro " + i).atribuicao("funcionario")
+                    .identificadorExterno("func-" + i).build());
+        }
+        projeto = Projeto.builder()
+                .id(1L)
+                .nome("Projeto Benchmark")
+                .dataInicio(LocalDate.of(2025, 1, 1))
+                .previsaoTermino(LocalDate.of(2025, 6, 1))
+                .orcamentoTotal(new BigDecimal("250000"))
+                .descricao("Projeto usado nos benchmarks de mapeamento")
+                .status(StatusProjeto.EM_ANDAMENTO)
+                .gerente(Membro.builder().id(100L).nome("Gerente").atribuicao("gerente").build())
+                .membros(membros)
+                .build();
+        projeto.atualizarClassificacaoRisco();
+    }
+
+    @Benchmark
+    public ProjetoDTO toDTO() {
+        return projetoMapper.toDTO(projeto);
+    }
+
+    @Benchmark
+    public Set<Long> mapMembrosToIds() {
+        return projetoMapper.mapMembrosToIds(projeto.getMembros());
+    }
+}
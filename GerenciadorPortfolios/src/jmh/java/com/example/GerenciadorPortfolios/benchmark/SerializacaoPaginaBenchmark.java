@@ -0,0 +1,58 @@
+package com.example.GerenciadorPortfolios.benchmark;
+
+import com.example.GerenciadorPortfolios.dto.ProjetoDTO;
+import com.example.GerenciadorPortfolios.model.enums.ClassificacaoRisco;
+import com.example.GerenciadorPortfolios.model.enums.StatusProjeto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Serialização da resposta de GET /api/projetos, com o mesmo ObjectMapper que o Spring Boot configura
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SerializacaoPaginaBenchmark {
+
+    @Param({"20", "100"})
+    private int tamanhoPagina;
+
+    private ObjectMapper objectMapper;
+    private Page<ProjetoDTO> pagina;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<ProjetoDTO> projetos = new ArrayList<>();
+        for (long i = 1; i <= tamanhoPagina; i++) {
+            projetos.add(ProjetoDTO.builder()
+                    .id(i)
+                    .nome("Projeto " + i)
+                    .dataInicio(LocalDate.of(2025, 1, 1))
+                    .previsaoTermino(LocalDate.of(2025, 6, 1))
+                    .orcamentoTotal(new BigDecimal("250000.00"))
+                    .descricao("Descrição do projeto " + i)
+                    .status(StatusProjeto.EM_ANDAMENTO)
+                    .classificacaoRisco(ClassificacaoRisco.MEDIO)
+                    .gerenteId(100L)
+                    .membrosIds(Set.of(1L, 2L, 3L, 4L, 5L))
+                    .build());
+        }
+        pagina = new PageImpl<>(projetos, PageRequest.of(0, tamanhoPagina), 10_000);
+    }
+
+    @Benchmark
+    public byte[] serializar() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pagina);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.GerenciadorPortfolios.benchmark;
+
+import com.example.GerenciadorPortfolios.exception.TransicaoStatusInvalidaException;
+import com.example.GerenciadorPortfolios.exception.ValidacaoException;
+import com.example.GerenciadorPortfolios.model.enums.StatusProjeto;
+import com.example.GerenciadorPortfolios.service.ValidadorTransicaoStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ValidacaoTransicaoStatusBenchmark {
+
+    private final ValidadorTransicaoStatus validador = new ValidadorTransicaoStatus(new SimpleMeterRegistry());
+
+    @Benchmark
+    public boolean transicaoValida() {
+        return validar(StatusProjeto.PLANEJADO, StatusProjeto.EM_ANDAMENTO);
+    }
+
+    @Benchmark
+    public boolean cancelamento() {
+        return validar(StatusProjeto.EM_ANDAMENTO, StatusProjeto.CANCELADO);
+    }
+
+    // Caminho de rejeição: inclui o custo de criar a exceção (e seu stack trace)
+    @Benchmark
+    public boolean transicaoInvalida() {
+        return validar(StatusProjeto.EM_ANALISE, StatusProjeto.ENCERRADO);
+    }
+
+    private boolean validar(StatusProjeto atual, StatusProjeto novo) {
+        try {
+            validador.validar(atual, novo);
+            return true;
+        } catch (ValidacaoException | TransicaoStatusInvalidaException e) {
+            return false;
+        }
+    }
+}
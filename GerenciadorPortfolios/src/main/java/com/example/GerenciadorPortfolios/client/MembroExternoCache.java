@@ -0,0 +1,67 @@
+package com.example.GerenciadorPortfolios.client;
+
+import com.example.GerenciadorPortfolios.config.MembroExternoProperties;
+import com.example.GerenciadorPortfolios.dto.MembroDTO;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.SneakyThrows;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+
+// Cache read-through na frente do MembroExternoClient. Consultas simultâneas ao mesmo identificador
+// compartilham uma única chamada à API (single-flight), valores vencidos são servidos enquanto
+// recarregam em segundo plano e identificadores inexistentes também ficam em cache por menos tempo.
+@Component
+public class MembroExternoCache {
+    private final AsyncLoadingCache<String, Optional<MembroDTO>> cache;
+
+    public MembroExternoCache(MembroExternoClient membroExternoClient, MembroExternoProperties propriedades,
+                              MeterRegistry meterRegistry) {
+        MembroExternoProperties.CacheConsulta configuracao = propriedades.cache();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(configuracao.tamanhoMaximo())
+                .refreshAfterWrite(configuracao.renovacao())
+                .expireAfter(new ExpiracaoPorResultado(configuracao))
+                .recordStats()
+                .buildAsync((identificador, executor) -> membroExternoClient.consultarAsync(identificador));
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "membrosExternos");
+    }
+
+    // Expiração recalculada a cada escrita (inclusive recargas), mais curta para resultados vazios
+    private record ExpiracaoPorResultado(MembroExternoProperties.CacheConsulta configuracao)
+            implements Expiry<String, Optional<MembroDTO>> {
+
+        private long duracao(Optional<MembroDTO> membro) {
+            return (membro.isPresent() ? configuracao.expiracao() : configuracao.expiracaoNegativa()).toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String identificador, Optional<MembroDTO> membro, long agora) {
+            return duracao(membro);
+        }
+
+        @Override
+        public long expireAfterUpdate(String identificador, Optional<MembroDTO> membro, long agora, long restante) {
+            return duracao(membro);
+        }
+
+        @Override
+        public long expireAfterRead(String identificador, Optional<MembroDTO> membro, long agora, long restante) {
+            return restante;
+        }
+    }
+
+    @SneakyThrows
+    public Optional<MembroDTO> consultar(String identificadorExterno) {
+        try {
+            return cache.get(identificadorExterno).join();
+        } catch (CompletionException e) {
+            throw e.getCause();
+        }
+    }
+}
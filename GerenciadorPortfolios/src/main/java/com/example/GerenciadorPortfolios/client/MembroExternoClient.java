@@ -0,0 +1,109 @@
+package com.example.GerenciadorPortfolios.client;
+
+import com.example.GerenciadorPortfolios.config.MembroExternoProperties;
+import com.example.GerenciadorPortfolios.dto.MembroDTO;
+import com.example.GerenciadorPortfolios.exception.ServicoExternoIndisponivelException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+// Cliente da API externa de membros: pool de conexões e timeouts no RestTemplate,
+// circuit breaker em volta de cada chamada e retentativa com backoff exponencial só na consulta
+@Component
+public class MembroExternoClient {
+    private final RestTemplate restTemplate;
+    private final MembroExternoProperties propriedades;
+    private final Executor executor;
+    private final CircuitBreaker circuitBreaker;
+    private final Retry retry;
+
+    public MembroExternoClient(RestTemplate restTemplate, MembroExternoProperties propriedades,
+                               @Qualifier("applicationTaskExecutor") Executor executor) {
+        this.restTemplate = restTemplate;
+        this.propriedades = propriedades;
+        this.executor = executor;
+
+        this.circuitBreaker = CircuitBreaker.of("membrosExternos", CircuitBreakerConfig.custom()
+                .failureRateThreshold(propriedades.percentualFalhasCircuito())
+                .slidingWindowSize(propriedades.janelaCircuito())
+                .minimumNumberOfCalls(propriedades.janelaCircuito())
+                .waitDurationInOpenState(propriedades.esperaCircuitoAberto())
+                .ignoreExceptions(HttpClientErrorException.class)
+                .build());
+
+        this.retry = Retry.of("membrosExternos", RetryConfig.custom()
+                .maxAttempts(propriedades.tentativas())
+                .intervalFunction(IntervalFunction.ofExponentialBackoff(propriedades.esperaInicialRetentativa(), 2))
+                .retryExceptions(ResourceAccessException.class, HttpServerErrorException.class)
+                .build());
+    }
+
+    public MembroDTO criar(MembroDTO membroDTO) {
+        if (propriedades.simulada()) {
+            return MembroDTO.builder()
+                    .nome(membroDTO.getNome())
+                    .atribuicao(membroDTO.getAtribuicao())
+                    .identificadorExterno(UUID.randomUUID().toString())
+                    .build();
+        }
+        // POST não é idempotente: uma resposta perdida após a criação duplicaria o membro, então não há retentativa
+        return executar(CircuitBreaker.decorateSupplier(circuitBreaker,
+                () -> restTemplate.postForObject(propriedades.url(), membroDTO, MembroDTO.class)));
+    }
+
+    public Optional<MembroDTO> consultar(String identificadorExterno) {
+        if (propriedades.simulada()) {
+            return Optional.of(MembroDTO.builder()
+                    .nome("Membro Mock")
+                    .atribuicao("funcionario")
+                    .identificadorExterno(identificadorExterno)
+                    .build());
+        }
+        return executar(Retry.decorateSupplier(retry, CircuitBreaker.decorateSupplier(circuitBreaker, () -> {
+            try {
+                return Optional.ofNullable(restTemplate.getForObject(
+                        propriedades.url() + "/{identificador}", MembroDTO.class, identificadorExterno));
+            } catch (HttpClientErrorException.NotFound e) {
+                return Optional.empty();
+            }
+        })));
+    }
+
+    // Variantes não bloqueantes: a chamada roda no executor da aplicação e libera a thread do chamador
+    public CompletableFuture<MembroDTO> criarAsync(MembroDTO membroDTO) {
+        return CompletableFuture.supplyAsync(() -> criar(membroDTO), executor);
+    }
+
+    public CompletableFuture<Optional<MembroDTO>> consultarAsync(String identificadorExterno) {
+        return CompletableFuture.supplyAsync(() -> consultar(identificadorExterno), executor);
+    }
+
+    public CircuitBreaker.State estadoCircuito() {
+        return circuitBreaker.getState();
+    }
+
+    private <T> T executar(Supplier<T> chamada) {
+        try {
+            return chamada.get();
+        } catch (CallNotPermittedException e) {
+            throw new ServicoExternoIndisponivelException("API de membros indisponível: circuito aberto", e);
+        } catch (ResourceAccessException | HttpServerErrorException e) {
+            throw new ServicoExternoIndisponivelException("Falha ao acessar a API de membros: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.GerenciadorPortfolios.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+// Caches Caffeine configurados em application.properties (spring.cache.*)
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String MEMBROS = "membros";
+    public static final String MEMBROS_POR_IDENTIFICADOR = "membrosPorIdentificador";
+}
@@ -3,6 +3,7 @@ package com.example.GerenciadorPortfolios.config;
 import com.example.GerenciadorPortfolios.model.Membro;
 import com.example.GerenciadorPortfolios.model.Projeto;
 import com.example.GerenciadorPortfolios.model.enums.StatusProjeto;
+import com.example.GerenciadorPortfolios.repository.MembroAlocacaoRepository;
 import com.example.GerenciadorPortfolios.repository.MembroRepository;
 import com.example.GerenciadorPortfolios.repository.ProjetoRepository;
 import jakarta.annotation.PostConstruct;
@@ -24,6 +25,7 @@ public class DataInitializer {
 
     private final MembroRepository membroRepository;
     private final ProjetoRepository projetoRepository;
+    private final MembroAlocacaoRepository membroAlocacaoRepository;
 
     @PostConstruct
     @Transactional
@@ -90,17 +92,14 @@ public class DataInitializer {
                 .build();
 
         projetoRepository.saveAll(List.of(projeto1, projeto2));
+        // Projetos gravados direto pelo repositório: contador de alocação dos membros recalculado
+        membroAlocacaoRepository.recalcular();
     }
 
     private void testarConsultas() {
         System.out.println("Testando consultas...");
 
-        // Testa consulta de média
-        Double media = projetoRepository.calcularMediaDuracaoProjetosEncerrados();
-        System.out.println("Média de duração (dias): " + media);
-
-        // Testa outras consultas
-        System.out.println("Projetos por status: " + projetoRepository.countProjetosByStatus());
-        System.out.println("Total orçado por status: " + projetoRepository.sumOrcamentoByStatus());
+        projetoRepository.resumirPorStatus().forEach(resumo -> System.out.println(
+                "Status " + resumo.getStatus() + ": " + resumo.getQuantidade() + " projetos, orçado " + resumo.getOrcamentoTotal()));
     }
 }
@@ -0,0 +1,17 @@
+package com.example.GerenciadorPortfolios.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+// Outbox de eventos de projeto (portfolio.eventos.*); o intervalo entre despachos fica em
+// portfolio.eventos.intervalo-ms
+@ConfigurationProperties(prefix = "portfolio.eventos")
+public record EventosProjetoProperties(
+        @DefaultValue("500") int tamanhoLote,
+        // Quanto esperar por um id pulado, que pode ser de uma transação ainda não confirmada
+        @DefaultValue("2s") Duration esperaLacuna,
+        // Eventos mais antigos são apagados; precisa cobrir ao menos o dia anterior para o fechamento do histórico
+        @DefaultValue("90d") Duration retencao) {
+}
@@ -0,0 +1,33 @@
+package com.example.GerenciadorPortfolios.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+// Configuração do cliente da API externa de membros (membros.api.*)
+@ConfigurationProperties(prefix = "membros.api")
+public record MembroExternoProperties(
+        @DefaultValue("https://api.mocki.io/v2/123456/membros") String url,
+        // Enquanto a API real não estiver disponível, as respostas são simuladas localmente
+        @DefaultValue("true") boolean simulada,
+        @DefaultValue("2s") Duration timeoutConexao,
+        @DefaultValue("5s") Duration timeoutLeitura,
+        @DefaultValue("50") int maxConexoes,
+        @DefaultValue("20") int maxConexoesPorRota,
+        @DefaultValue("3") int tentativas,
+        @DefaultValue("200ms") Duration esperaInicialRetentativa,
+        @DefaultValue("50") float percentualFalhasCircuito,
+        @DefaultValue("20") int janelaCircuito,
+        @DefaultValue("30s") Duration esperaCircuitoAberto,
+        @DefaultValue CacheConsulta cache) {
+
+    // Cache das consultas por identificador: após "renovacao" o valor antigo continua sendo servido
+    // enquanto é recarregado em segundo plano; identificadores inexistentes expiram mais cedo
+    public record CacheConsulta(
+            @DefaultValue("10000") long tamanhoMaximo,
+            @DefaultValue("1m") Duration renovacao,
+            @DefaultValue("10m") Duration expiracao,
+            @DefaultValue("30s") Duration expiracaoNegativa) {
+    }
+}
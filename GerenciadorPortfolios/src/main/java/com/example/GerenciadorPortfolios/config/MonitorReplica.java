@@ -0,0 +1,65 @@
+package com.example.GerenciadorPortfolios.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+// Mede periodicamente o atraso da réplica. Enquanto ele estiver acima da tolerância, ou a réplica não
+// responder, o RoteamentoLeituraDataSource manda também as leituras para o primário.
+@Slf4j
+public class MonitorReplica {
+    private final JdbcTemplate replica;
+    private final ReplicaLeituraProperties propriedades;
+    private volatile boolean disponivel;
+    private volatile double atrasoSegundos = Double.NaN;
+
+    public MonitorReplica(DataSource replica, ReplicaLeituraProperties propriedades, MeterRegistry meterRegistry) {
+        this.replica = new JdbcTemplate(replica);
+        this.propriedades = propriedades;
+        Gauge.builder("portfolio.db.replica.atraso", this, monitor -> monitor.atrasoSegundos)
+                .baseUnit("seconds")
+                .description("Atraso de replicação medido na última verificação")
+                .register(meterRegistry);
+        Gauge.builder("portfolio.db.replica.disponivel", this, monitor -> monitor.disponivel ? 1 : 0)
+                .description("1 quando as leituras estão indo para a réplica")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${portfolio.replica.intervalo-verificacao-ms:5000}")
+    public void verificar() {
+        try {
+            Double atraso = replica.queryForObject(propriedades.consultaAtraso(), Double.class);
+            atrasoSegundos = atraso != null ? atraso : 0;
+            atualizarDisponibilidade(atrasoSegundos * 1000 <= propriedades.atrasoMaximo().toMillis(),
+                    "atraso de " + atrasoSegundos + "s");
+        } catch (DataAccessException e) {
+            atrasoSegundos = Double.NaN;
+            atualizarDisponibilidade(false, e.getMessage());
+        }
+    }
+
+    public boolean isDisponivel() {
+        return disponivel;
+    }
+
+    // Falha ao obter conexão: fica no primário até a próxima verificação bem-sucedida
+    void registrarFalha(Exception e) {
+        atualizarDisponibilidade(false, e.getMessage());
+    }
+
+    private void atualizarDisponibilidade(boolean agora, String motivo) {
+        if (disponivel != agora) {
+            if (agora) {
+                log.info("Leituras voltando para a réplica ({})", motivo);
+            } else {
+                log.warn("Leituras redirecionadas ao primário: {}", motivo);
+            }
+        }
+        disponivel = agora;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.GerenciadorPortfolios.config;
+
+import com.example.GerenciadorPortfolios.observabilidade.ContadorSqlDataSource;
+import com.example.GerenciadorPortfolios.observabilidade.OrcamentoSqlInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+// Contagem de SQL por requisição (proxy no DataSource, métricas e orçamento por endpoint): cada comando JDBC
+// passa por dois proxies, então fica ligada só em desenvolvimento e testes (portfolio.sql.orcamento.ativo)
+@Configuration
+@ConditionalOnProperty(name = "portfolio.sql.orcamento.ativo", havingValue = "true")
+@RequiredArgsConstructor
+public class ObservabilidadeConfig implements WebMvcConfigurer {
+    private final OrcamentoSqlInterceptor orcamentoSqlInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(orcamentoSqlInterceptor).addPathPatterns("/api/**");
+    }
+
+    // Só o bean dataSource, usado por JPA e JdbcTemplate: com réplica, os pools por trás dele não são
+    // envolvidos de novo, senão cada comando contaria duas vezes
+    @Bean
+    public static BeanPostProcessor contadorSqlDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String nomeBean) {
+                return bean instanceof DataSource dataSource && nomeBean.equals("dataSource")
+                        ? new ContadorSqlDataSource(dataSource) : bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.GerenciadorPortfolios.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+// Ativada apenas com portfolio.replica.datasource.url definida; sem ela vale o DataSource padrão do Spring Boot.
+// O primário continua configurado por spring.datasource.* e spring.datasource.hikari.*.
+@Configuration
+@ConditionalOnProperty(prefix = "portfolio.replica.datasource", name = "url")
+@EnableConfigurationProperties(ReplicaLeituraProperties.class)
+public class ReplicaLeituraConfig {
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties primarioDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primarioDataSource(DataSourceProperties primarioDataSourceProperties) {
+        HikariDataSource primario = primarioDataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class).build();
+        primario.setPoolName("portfolio");
+        return primario;
+    }
+
+    @Bean
+    @ConfigurationProperties("portfolio.replica.datasource")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("portfolio.replica.datasource.hikari")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource replica = replicaDataSourceProperties().initializeDataSourceBuilder()
+                .type(HikariDataSource.class).build();
+        replica.setPoolName("portfolio-replica");
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    public MonitorReplica monitorReplica(ReplicaLeituraProperties propriedades, MeterRegistry meterRegistry) {
+        return new MonitorReplica(replicaDataSource(), propriedades, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(MonitorReplica monitorReplica, MeterRegistry meterRegistry) {
+        return new LazyConnectionDataSourceProxy(new RoteamentoLeituraDataSource(
+                primarioDataSource(primarioDataSourceProperties()), replicaDataSource(), monitorReplica,
+                meterRegistry));
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.GerenciadorPortfolios.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+// Réplica de leitura (portfolio.replica.*); a conexão fica em portfolio.replica.datasource.* e o pool
+// em portfolio.replica.datasource.hikari.*, no mesmo formato de spring.datasource
+@ConfigurationProperties(prefix = "portfolio.replica")
+public record ReplicaLeituraProperties(
+        // Atraso acima do qual as leituras voltam ao primário
+        @DefaultValue("5s") Duration atrasoMaximo,
+        // Executada na réplica; devolve o atraso de replicação em segundos. O padrão considera atraso zero
+        // quando todo o WAL recebido já foi aplicado, para uma réplica ociosa não parecer atrasada.
+        @DefaultValue("SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+                "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END")
+        String consultaAtraso) {
+}
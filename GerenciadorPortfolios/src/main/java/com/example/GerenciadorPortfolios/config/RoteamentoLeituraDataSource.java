@@ -0,0 +1,56 @@
+package com.example.GerenciadorPortfolios.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+// Transações readOnly vão para a réplica enquanto o MonitorReplica a considerar em dia; todo o resto
+// (escritas, Flyway, código fora de transação) usa o primário. Precisa ficar atrás de um
+// LazyConnectionDataSourceProxy: o JpaTransactionManager pede a conexão antes de marcar a transação
+// como readOnly, e o proxy adia a escolha até o primeiro comando.
+public class RoteamentoLeituraDataSource extends AbstractRoutingDataSource {
+    enum Destino { PRIMARIO, REPLICA }
+
+    private final DataSource primario;
+    private final MonitorReplica monitor;
+    private final Counter conexoesReplica;
+    private final Counter conexoesPrimario;
+
+    public RoteamentoLeituraDataSource(DataSource primario, DataSource replica, MonitorReplica monitor,
+                                       MeterRegistry meterRegistry) {
+        this.primario = primario;
+        this.monitor = monitor;
+        this.conexoesReplica = meterRegistry.counter("portfolio.db.roteamento", "destino", "replica");
+        this.conexoesPrimario = meterRegistry.counter("portfolio.db.roteamento", "destino", "primario");
+        setTargetDataSources(Map.of(Destino.PRIMARIO, primario, Destino.REPLICA, replica));
+        setDefaultTargetDataSource(primario);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && monitor.isDisponivel()
+                ? Destino.REPLICA : Destino.PRIMARIO;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (determineCurrentLookupKey() == Destino.REPLICA) {
+            try {
+                Connection conexao = determineTargetDataSource().getConnection();
+                conexoesReplica.increment();
+                return conexao;
+            } catch (SQLException e) {
+                monitor.registrarFalha(e);
+            }
+        }
+        conexoesPrimario.increment();
+        return primario.getConnection();
+    }
+}
@@ -2,6 +2,7 @@ package com.example.GerenciadorPortfolios.controller;
 
 import com.example.GerenciadorPortfolios.dto.MembroDTO;
 import com.example.GerenciadorPortfolios.model.Membro;
+import com.example.GerenciadorPortfolios.observabilidade.OrcamentoSql;
 import com.example.GerenciadorPortfolios.service.MembroService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -39,6 +40,7 @@ public class MembroController {
 
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
+    @OrcamentoSql(1)
     @Operation(summary = "Criar membro", description = "Cria um novo membro na API externa e no sistema local")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Membro criado com sucesso"),
@@ -58,6 +60,7 @@ public class MembroController {
     }
 
     @GetMapping("/externo/{identificador}")
+    @OrcamentoSql(0)
     @Operation(summary = "Consultar membro externo", description = "Consulta um membro na API externa")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Membro encontrado"),
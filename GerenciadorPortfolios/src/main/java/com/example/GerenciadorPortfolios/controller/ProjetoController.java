@@ -1,8 +1,18 @@
 package com.example.GerenciadorPortfolios.controller;
 
+import com.example.GerenciadorPortfolios.dto.FiltroProjetoDTO;
+import com.example.GerenciadorPortfolios.dto.HistoricoPortfolioDTO;
+import com.example.GerenciadorPortfolios.dto.JanelaProjetosDTO;
 import com.example.GerenciadorPortfolios.dto.ProjetoDTO;
 import com.example.GerenciadorPortfolios.dto.RelatorioPortfolioDTO;
+import com.example.GerenciadorPortfolios.dto.ResultadoImportacaoDTO;
+import com.example.GerenciadorPortfolios.exception.ConflitoVersaoException;
+import com.example.GerenciadorPortfolios.model.enums.GranularidadeHistorico;
 import com.example.GerenciadorPortfolios.model.enums.StatusProjeto;
+import com.example.GerenciadorPortfolios.observabilidade.OrcamentoSql;
+import com.example.GerenciadorPortfolios.service.BuscaProjetoService;
+import com.example.GerenciadorPortfolios.service.ExportacaoProjetoService;
+import com.example.GerenciadorPortfolios.service.HistoricoPortfolioService;
 import com.example.GerenciadorPortfolios.service.ProjetoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,12 +24,19 @@ import lombok.RequiredArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.time.LocalDate;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/projetos")
@@ -27,21 +44,101 @@ import java.net.URI;
 @Tag(name = "Projetos", description = "API para gerenciamento de projetos")
 public class ProjetoController {
     private final ProjetoService projetoService;
+    private final ExportacaoProjetoService exportacaoProjetoService;
+    private final BuscaProjetoService buscaProjetoService;
+    private final HistoricoPortfolioService historicoPortfolioService;
 
     @GetMapping
-    @Operation(summary = "Listar projetos", description = "Retorna uma lista paginada de projetos")
+    @OrcamentoSql(3) // página + contagem + membros da página
+    @Operation(summary = "Listar projetos",
+            description = "Retorna uma lista paginada de projetos, filtrada por nome, status, gerente, faixa de " +
+                    "orçamento, período de início e classificação de risco")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Projetos listados com sucesso"),
             @ApiResponse(responseCode = "401", description = "Não autorizado"),
             @ApiResponse(responseCode = "403", description = "Acesso proibido")
     })
     public ResponseEntity<Page<ProjetoDTO>> listarTodos(
-            @Parameter(description = "Nome do projeto para filtro") @RequestParam(required = false) String nome,
+            @ParameterObject FiltroProjetoDTO filtro,
             @ParameterObject Pageable pageable) {
-        return ResponseEntity.ok(projetoService.listarTodos(nome, pageable));
+        return ResponseEntity.ok(projetoService.listarTodos(filtro, pageable));
+    }
+
+    @GetMapping(params = "contagem=false")
+    @OrcamentoSql(2) // página + membros da página
+    @Operation(summary = "Listar projetos sem contagem",
+            description = "Mesmos filtros da listagem paginada, sem calcular o total de registros; " +
+                    "indica apenas se existe próxima página")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Projetos listados com sucesso"),
+            @ApiResponse(responseCode = "401", description = "Não autorizado"),
+            @ApiResponse(responseCode = "403", description = "Acesso proibido")
+    })
+    public ResponseEntity<Slice<ProjetoDTO>> listarFatia(
+            @ParameterObject FiltroProjetoDTO filtro,
+            @ParameterObject Pageable pageable) {
+        return ResponseEntity.ok(projetoService.listarFatia(filtro, pageable));
+    }
+
+    @GetMapping(params = "after")
+    @OrcamentoSql(2)
+    @Operation(summary = "Listar projetos por cursor",
+            description = "Retorna uma janela de projetos a partir de um cursor opaco, sem contagem total. " +
+                    "Use after vazio para a primeira janela e o proximoCursor retornado para as seguintes")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Projetos listados com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Cursor ou ordenação inválidos"),
+            @ApiResponse(responseCode = "401", description = "Não autorizado"),
+            @ApiResponse(responseCode = "403", description = "Acesso proibido")
+    })
+    public ResponseEntity<JanelaProjetosDTO> listarPorCursor(
+            @Parameter(description = "Nome do projeto para filtro") @RequestParam(required = false) String nome,
+            @Parameter(description = "Cursor retornado pela janela anterior") @RequestParam String after,
+            @Parameter(description = "Chave de ordenação: id ou nome") @RequestParam(defaultValue = "id") String sort,
+            @Parameter(description = "Tamanho da janela (máximo 100)") @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(projetoService.listarPorCursor(nome, after, sort, size));
+    }
+
+    @GetMapping("/busca")
+    @OrcamentoSql(2) // ids da busca textual + projetos com membros
+    @Operation(summary = "Buscar projetos por texto",
+            description = "Busca em nome e descrição, aceitando prefixos, com resultados ordenados por relevância")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Busca realizada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Nenhum termo de busca informado"),
+            @ApiResponse(responseCode = "401", description = "Não autorizado"),
+            @ApiResponse(responseCode = "403", description = "Acesso proibido")
+    })
+    public ResponseEntity<List<ProjetoDTO>> buscar(
+            @Parameter(description = "Termos de busca") @RequestParam String q,
+            @Parameter(description = "Quantidade máxima de resultados (máximo 100)")
+            @RequestParam(defaultValue = "20") int limite) {
+        return ResponseEntity.ok(buscaProjetoService.buscar(q, limite));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Exportar portfólio",
+            description = "Exporta todos os projetos em streaming, no formato NDJSON ou CSV")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exportação iniciada"),
+            @ApiResponse(responseCode = "400", description = "Formato inválido"),
+            @ApiResponse(responseCode = "401", description = "Não autorizado"),
+            @ApiResponse(responseCode = "403", description = "Acesso proibido")
+    })
+    public ResponseEntity<StreamingResponseBody> exportar(
+            @Parameter(description = "Formato da exportação: ndjson ou csv")
+            @RequestParam(defaultValue = "ndjson") String format) {
+        ExportacaoProjetoService.Formato formato = ExportacaoProjetoService.Formato.de(format);
+        StreamingResponseBody corpo = saida -> exportacaoProjetoService.exportar(formato, saida);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(formato.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"projetos." + formato.name().toLowerCase() + "\"")
+                .body(corpo);
     }
 
     @GetMapping("/{id}")
+    @OrcamentoSql(1)
     @Operation(summary = "Buscar projeto por ID", description = "Retorna um projeto específico pelo seu ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Projeto encontrado"),
@@ -51,11 +148,13 @@ public class ProjetoController {
     })
     public ResponseEntity<ProjetoDTO> buscarPorId(
             @Parameter(description = "ID do projeto") @PathVariable Long id) {
-        return ResponseEntity.ok(projetoService.buscarPorId(id));
+        ProjetoDTO projeto = projetoService.buscarPorId(id);
+        return ResponseEntity.ok().eTag(String.valueOf(projeto.getVersao())).body(projeto);
     }
 
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
+    @OrcamentoSql(6)
     @Operation(summary = "Criar projeto", description = "Cria um novo projeto")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Projeto criado com sucesso"),
@@ -71,27 +170,48 @@ public class ProjetoController {
                 .path("/{id}")
                 .buildAndExpand(projetoCriado.getId())
                 .toUri();
-        return ResponseEntity.created(location).body(projetoCriado);
+        return ResponseEntity.created(location).eTag(String.valueOf(projetoCriado.getVersao())).body(projetoCriado);
+    }
+
+    @PostMapping("/lote")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Importar projetos em lote",
+            description = "Cria vários projetos de uma vez, gravando em lotes e reportando os erros por item")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Importação processada"),
+            @ApiResponse(responseCode = "401", description = "Não autorizado"),
+            @ApiResponse(responseCode = "403", description = "Acesso proibido")
+    })
+    public ResponseEntity<ResultadoImportacaoDTO> importarEmLote(
+            @Parameter(description = "Projetos a importar") @RequestBody List<ProjetoDTO> projetosDTO) {
+        return ResponseEntity.ok(projetoService.importarEmLote(projetosDTO));
     }
 
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
+    @OrcamentoSql(10)
     @Operation(summary = "Atualizar projeto", description = "Atualiza um projeto existente")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Projeto atualizado com sucesso"),
             @ApiResponse(responseCode = "400", description = "Dados inválidos"),
             @ApiResponse(responseCode = "404", description = "Projeto não encontrado"),
+            @ApiResponse(responseCode = "409", description = "Projeto alterado por outra requisição durante a gravação"),
+            @ApiResponse(responseCode = "412", description = "If-Match não corresponde à versão atual do projeto"),
             @ApiResponse(responseCode = "401", description = "Não autorizado"),
             @ApiResponse(responseCode = "403", description = "Acesso proibido")
     })
     public ResponseEntity<ProjetoDTO> atualizar(
             @Parameter(description = "ID do projeto") @PathVariable Long id,
+            @Parameter(description = "ETag obtido na leitura do projeto (opcional)")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Parameter(description = "Dados atualizados do projeto") @Valid @RequestBody ProjetoDTO projetoDTO) {
-        return ResponseEntity.ok(projetoService.atualizar(id, projetoDTO));
+        ProjetoDTO projeto = projetoService.atualizar(id, projetoDTO, versaoDe(ifMatch));
+        return ResponseEntity.ok().eTag(String.valueOf(projeto.getVersao())).body(projeto);
     }
 
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
+    @OrcamentoSql(6)
     @Operation(summary = "Excluir projeto", description = "Exclui um projeto existente")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Projeto excluído com sucesso"),
@@ -108,21 +228,30 @@ public class ProjetoController {
 
     @PatchMapping("/{id}/status")
     @PreAuthorize("hasRole('ADMIN')")
-    @Operation(summary = "Atualizar status do projeto", description = "Atualiza o status de um projeto")
+    // Pior caso: cancelamento de projeto ativo (status atual + UPDATE condicional + liberação das vagas +
+    // projeto com membros + evento no outbox). Ativo -> ENCERRADO usa 4; as demais transições, 3
+    @OrcamentoSql(5)
+    @Operation(summary = "Atualizar status do projeto",
+            description = "Atualiza o status de um projeto com um único UPDATE condicionado ao status anterior")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Status atualizado com sucesso"),
-            @ApiResponse(responseCode = "400", description = "Transição de status inválida"),
             @ApiResponse(responseCode = "404", description = "Projeto não encontrado"),
+            @ApiResponse(responseCode = "409", description = "Transição de status inválida"),
+            @ApiResponse(responseCode = "412", description = "If-Match não corresponde à versão atual do projeto"),
             @ApiResponse(responseCode = "401", description = "Não autorizado"),
             @ApiResponse(responseCode = "403", description = "Acesso proibido")
     })
     public ResponseEntity<ProjetoDTO> atualizarStatus(
             @Parameter(description = "ID do projeto") @PathVariable Long id,
+            @Parameter(description = "ETag obtido na leitura do projeto (opcional)")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Parameter(description = "Novo status do projeto") @RequestParam StatusProjeto status) {
-        return ResponseEntity.ok(projetoService.atualizarStatus(id, status));
+        ProjetoDTO projeto = projetoService.atualizarStatus(id, status, versaoDe(ifMatch));
+        return ResponseEntity.ok().eTag(String.valueOf(projeto.getVersao())).body(projeto);
     }
 
     @GetMapping("/relatorio")
+    @OrcamentoSql(0) // servido do agregado em memória
     @Operation(summary = "Gerar relatório do portfólio", description = "Gera um relatório resumido do portfólio de projetos")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Relatório gerado com sucesso"),
@@ -132,4 +261,44 @@ public class ProjetoController {
     public ResponseEntity<RelatorioPortfolioDTO> gerarRelatorio() {
         return ResponseEntity.ok(projetoService.gerarRelatorioPortfolio());
     }
-}
\ No newline at end of file
+
+    @GetMapping("/relatorio/historico")
+    @OrcamentoSql(1) // fechamentos do período
+    @Operation(summary = "Consultar histórico do portfólio",
+            description = "Retorna a evolução do relatório por dia, semana ou mês a partir dos fechamentos diários: " +
+                    "quantidade e orçamento por status no último dia fechado de cada período e as transições " +
+                    "de status ocorridas no período")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Histórico consultado com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Período inválido"),
+            @ApiResponse(responseCode = "401", description = "Não autorizado"),
+            @ApiResponse(responseCode = "403", description = "Acesso proibido")
+    })
+    public ResponseEntity<List<HistoricoPortfolioDTO>> consultarHistorico(
+            @Parameter(description = "Data inicial (inclusive)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+            @Parameter(description = "Data final (inclusive)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate,
+            @Parameter(description = "Tamanho de cada período")
+            @RequestParam(defaultValue = "DIA") GranularidadeHistorico granularidade) {
+        return ResponseEntity.ok(historicoPortfolioService.consultar(de, ate, granularidade));
+    }
+
+    // ETag forte "<versao>"; ausente ou "*" não restringe a versão. ETag fraca W/"<versao>" é rejeitada com 412.
+    // Valores que não são uma versão viram -1 e nunca correspondem ao projeto atual.
+    private static Long versaoDe(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String valor = ifMatch.trim();
+        // If-Match usa comparação forte (RFC 9110): ETag fraca nunca corresponde
+        if (valor.startsWith("W/")) {
+            throw new ConflitoVersaoException("If-Match não aceita ETag fraca: " + valor);
+        }
+        try {
+            return Long.valueOf(valor.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+}
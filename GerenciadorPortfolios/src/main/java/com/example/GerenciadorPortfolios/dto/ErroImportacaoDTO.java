@@ -0,0 +1,13 @@
+package com.example.GerenciadorPortfolios.dto;
+
+import lombok.*;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErroImportacaoDTO {
+    private int indice;
+    private String nome;
+    private String mensagem;
+}
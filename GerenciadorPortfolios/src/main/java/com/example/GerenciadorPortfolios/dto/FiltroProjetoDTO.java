@@ -0,0 +1,38 @@
+package com.example.GerenciadorPortfolios.dto;
+
+import com.example.GerenciadorPortfolios.model.enums.ClassificacaoRisco;
+import com.example.GerenciadorPortfolios.model.enums.StatusProjeto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+// Critérios opcionais da listagem de projetos; os informados são combinados com AND
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FiltroProjetoDTO {
+    private String nome;
+
+    private List<StatusProjeto> status;
+
+    private Long gerenteId;
+
+    private BigDecimal orcamentoMinimo;
+
+    private BigDecimal orcamentoMaximo;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate inicioDe;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate inicioAte;
+
+    private ClassificacaoRisco risco;
+}
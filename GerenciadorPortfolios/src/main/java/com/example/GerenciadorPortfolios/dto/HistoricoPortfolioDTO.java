@@ -0,0 +1,23 @@
+package com.example.GerenciadorPortfolios.dto;
+
+import com.example.GerenciadorPortfolios.model.enums.StatusProjeto;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+// Um período do histórico: quantidade e orçamento são os do último dia fechado no período,
+// transições somam as mudanças de status (inclusive criações) ocorridas no período
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HistoricoPortfolioDTO {
+    private LocalDate inicio;
+    private LocalDate fim;
+    private LocalDate ultimoDiaFechado;
+    private Map<StatusProjeto, Long> quantidadeProjetosPorStatus;
+    private Map<StatusProjeto, BigDecimal> totalOrcadoPorStatus;
+    private Map<StatusProjeto, Long> transicoesPorStatus;
+}
@@ -0,0 +1,16 @@
+package com.example.GerenciadorPortfolios.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JanelaProjetosDTO {
+    private List<ProjetoDTO> conteudo;
+    private int tamanho;
+    private boolean temProximo;
+    private String proximoCursor;
+}
@@ -49,4 +49,7 @@ public class ProjetoDTO {
 
     @Size(min = 1, max = 10, message = "Projeto deve ter entre 1 e 10 membros")
     private Set<Long> membrosIds;
+
+    // Somente leitura: para edições a versão esperada vai no cabeçalho If-Match
+    private Long versao;
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.example.GerenciadorPortfolios.dto;
 
+import com.example.GerenciadorPortfolios.model.enums.ClassificacaoRisco;
 import com.example.GerenciadorPortfolios.model.enums.StatusProjeto;
 import lombok.*;
 
@@ -13,6 +14,7 @@ import java.util.Map;
 public class RelatorioPortfolioDTO {
     private Map<StatusProjeto, Long> quantidadeProjetosPorStatus;
     private Map<StatusProjeto, BigDecimal> totalOrcadoPorStatus;
+    private Map<ClassificacaoRisco, Long> quantidadeProjetosPorRisco;
     private Double mediaDuracaoProjetosEncerrados;
     private Long totalMembrosUnicosAlocados;
 }
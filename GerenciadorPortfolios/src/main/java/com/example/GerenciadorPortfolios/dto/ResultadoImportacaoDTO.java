@@ -0,0 +1,16 @@
+package com.example.GerenciadorPortfolios.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoImportacaoDTO {
+    private int totalRecebidos;
+    private int totalImportados;
+    private List<Long> idsImportados;
+    private List<ErroImportacaoDTO> erros;
+}
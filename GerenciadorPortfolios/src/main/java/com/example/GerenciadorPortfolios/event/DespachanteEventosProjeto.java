@@ -0,0 +1,91 @@
+package com.example.GerenciadorPortfolios.event;
+
+import com.example.GerenciadorPortfolios.config.EventosProjetoProperties;
+import com.example.GerenciadorPortfolios.repository.EventoProjetoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Lê o outbox eventos_projeto em ordem de id a partir do último evento entregue e publica lotes de
+// EventosProjetoDespachados aos consumidores em memória desta instância. Cada instância mantém o próprio
+// cursor, então todas recebem todos os eventos; o log não é marcado como processado.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@EnableConfigurationProperties(EventosProjetoProperties.class)
+public class DespachanteEventosProjeto {
+    private final EventoProjetoRepository eventoProjetoRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EventosProjetoProperties propriedades;
+
+    // ReentrantLock em vez de synchronized: o trecho faz JDBC e, com virtual threads, um monitor prenderia a carrier
+    private final ReentrantLock lock = new ReentrantLock();
+    private Long ultimoDespachado;
+
+    @Scheduled(fixedDelayString = "${portfolio.eventos.intervalo-ms:200}")
+    public int despachar() {
+        lock.lock();
+        try {
+            return despacharPendentes();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int despacharPendentes() {
+        if (ultimoDespachado == null) {
+            // Instância nova parte do fim do log: os consumidores em memória já se recalculam na subida
+            ultimoDespachado = eventoProjetoRepository.ultimoId();
+        }
+        int despachados = 0;
+        List<EventoProjeto> lote;
+        do {
+            lote = proximoLote();
+            if (lote.isEmpty()) {
+                break;
+            }
+            try {
+                eventPublisher.publishEvent(new EventosProjetoDespachados(lote));
+            } catch (RuntimeException e) {
+                // Sem reentrega: um consumidor com falha não pode travar o log; o recálculo periódico corrige o estado
+                log.error("Falha ao despachar eventos de projeto {} a {}", lote.get(0).id(),
+                        lote.get(lote.size() - 1).id(), e);
+            }
+            ultimoDespachado = lote.get(lote.size() - 1).id();
+            despachados += lote.size();
+        } while (lote.size() == propriedades.tamanhoLote());
+        return despachados;
+    }
+
+    // Ids são gerados na inserção, não no commit: um id pulado pode ser de uma transação ainda aberta, que
+    // confirmaria depois de o cursor passar por ele. O lote para antes da lacuna até ela ficar mais velha que
+    // esperaLacuna; daí em diante é tratada como rollback.
+    private List<EventoProjeto> proximoLote() {
+        List<EventoProjeto> lidos = eventoProjetoRepository.buscarApos(ultimoDespachado, propriedades.tamanhoLote());
+        LocalDateTime limiteLacuna = LocalDateTime.now().minus(propriedades.esperaLacuna());
+        List<EventoProjeto> lote = new ArrayList<>(lidos.size());
+        long anterior = ultimoDespachado;
+        for (EventoProjeto evento : lidos) {
+            if (evento.id() != anterior + 1 && evento.criadoEm().isAfter(limiteLacuna)) {
+                break;
+            }
+            lote.add(evento);
+            anterior = evento.id();
+        }
+        return lote;
+    }
+
+    @Scheduled(cron = "${portfolio.eventos.limpeza-cron:0 30 0 * * *}")
+    public void removerEventosAntigos() {
+        int removidos = eventoProjetoRepository.removerAnteriores(LocalDateTime.now().minus(propriedades.retencao()));
+        log.info("{} eventos de projeto removidos do outbox", removidos);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.GerenciadorPortfolios.event;
+
+import java.time.LocalDateTime;
+
+// Linha do outbox eventos_projeto
+public record EventoProjeto(long id, TipoEventoProjeto tipo, LocalDateTime criadoEm, ProjetoAlteradoEvent alteracao) {
+}
@@ -0,0 +1,7 @@
+package com.example.GerenciadorPortfolios.event;
+
+import java.util.List;
+
+// Lote publicado pelo DespachanteEventosProjeto, em ordem de id e fora da transação que gravou os eventos
+public record EventosProjetoDespachados(List<EventoProjeto> eventos) {
+}
@@ -0,0 +1,20 @@
+package com.example.GerenciadorPortfolios.event;
+
+// Registrado no outbox a cada criação, edição, mudança de status ou exclusão de projeto.
+// "anterior" é nulo na criação e "atual" é nulo na exclusão.
+public record ProjetoAlteradoEvent(ProjetoSnapshot anterior, ProjetoSnapshot atual) {
+
+    public Long projetoId() {
+        return atual != null ? atual.id() : anterior.id();
+    }
+
+    public TipoEventoProjeto tipo() {
+        if (anterior == null) {
+            return TipoEventoProjeto.CRIACAO;
+        }
+        if (atual == null) {
+            return TipoEventoProjeto.EXCLUSAO;
+        }
+        return anterior.status() != atual.status() ? TipoEventoProjeto.MUDANCA_STATUS : TipoEventoProjeto.EDICAO;
+    }
+}
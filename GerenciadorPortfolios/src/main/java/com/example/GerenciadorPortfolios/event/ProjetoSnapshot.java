@@ -0,0 +1,42 @@
+package com.example.GerenciadorPortfolios.event;
+
+import com.example.GerenciadorPortfolios.model.Membro;
+import com.example.GerenciadorPortfolios.model.Projeto;
+import com.example.GerenciadorPortfolios.model.enums.ClassificacaoRisco;
+import com.example.GerenciadorPortfolios.model.enums.StatusProjeto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Cópia imutável dos campos de um projeto que alimentam os agregados do portfólio
+public record ProjetoSnapshot(
+        Long id,
+        StatusProjeto status,
+        ClassificacaoRisco classificacaoRisco,
+        BigDecimal orcamentoTotal,
+        LocalDate dataInicio,
+        LocalDate dataRealTermino,
+        Set<Long> membrosIds) {
+
+    public static ProjetoSnapshot de(Projeto projeto) {
+        Set<Long> membrosIds = projeto.getMembros() == null ? Set.of() : projeto.getMembros().stream()
+                .map(Membro::getId)
+                .collect(Collectors.toUnmodifiableSet());
+        return new ProjetoSnapshot(
+                projeto.getId(),
+                projeto.getStatus(),
+                ClassificacaoRisco.calcular(projeto.getOrcamentoTotal(), projeto.getDataInicio(),
+                        projeto.getPrevisaoTermino()),
+                projeto.getOrcamentoTotal(),
+                projeto.getDataInicio(),
+                projeto.getDataRealTermino(),
+                membrosIds);
+    }
+
+    public ProjetoSnapshot comStatus(StatusProjeto novoStatus) {
+        return new ProjetoSnapshot(id, novoStatus, classificacaoRisco, orcamentoTotal, dataInicio, dataRealTermino,
+                membrosIds);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.GerenciadorPortfolios.event;
+
+public enum TipoEventoProjeto {
+        CRIACAO,
+        EDICAO,
+        MUDANCA_STATUS,
+        EXCLUSAO
+}
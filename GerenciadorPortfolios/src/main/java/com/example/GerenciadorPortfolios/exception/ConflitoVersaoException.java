@@ -0,0 +1,7 @@
+package com.example.GerenciadorPortfolios.exception;
+
+public class ConflitoVersaoException extends RuntimeException {
+    public ConflitoVersaoException(String mensagem) {
+        super(mensagem);
+    }
+}
@@ -1,6 +1,6 @@
 package com.example.GerenciadorPortfolios.exception;
 
-public class OperacaoNaoPermitidaException extends Throwable {
+public class OperacaoNaoPermitidaException extends RuntimeException {
     public OperacaoNaoPermitidaException(String mensagem) {
         super(mensagem);
     }
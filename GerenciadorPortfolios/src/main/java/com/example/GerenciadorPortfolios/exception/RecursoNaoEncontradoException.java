@@ -1,6 +1,6 @@
 package com.example.GerenciadorPortfolios.exception;
 
-public class RecursoNaoEncontradoException extends Throwable {
+public class RecursoNaoEncontradoException extends RuntimeException {
     public RecursoNaoEncontradoException(String mensagem) {
         super(mensagem);
     }
@@ -0,0 +1,7 @@
+package com.example.GerenciadorPortfolios.exception;
+
+public class ServicoExternoIndisponivelException extends RuntimeException {
+    public ServicoExternoIndisponivelException(String mensagem, Throwable causa) {
+        super(mensagem, causa);
+    }
+}
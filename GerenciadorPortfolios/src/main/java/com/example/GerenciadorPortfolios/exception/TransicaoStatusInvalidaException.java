@@ -1,6 +1,6 @@
 package com.example.GerenciadorPortfolios.exception;
 
-public class TransicaoStatusInvalidaException extends Throwable {
+public class TransicaoStatusInvalidaException extends RuntimeException {
     public TransicaoStatusInvalidaException(String mensagem) {
         super(mensagem);
     }
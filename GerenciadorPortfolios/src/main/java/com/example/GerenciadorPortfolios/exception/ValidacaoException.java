@@ -1,6 +1,6 @@
 package com.example.GerenciadorPortfolios.exception;
 
-public class ValidacaoException extends Throwable {
+public class ValidacaoException extends RuntimeException {
     public ValidacaoException(String mensagem) {
         super(mensagem);
     }
@@ -18,6 +18,8 @@ public interface ProjetoMapper {
     @Mapping(target = "gerente", ignore = true)
     @Mapping(target = "membros", ignore = true)
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "classificacaoRisco", ignore = true)
+    @Mapping(target = "versao", ignore = true)
     Projeto toEntity(ProjetoDTO projetoDTO);
 
     @Mapping(target = "gerenteId", source = "gerente.id")
@@ -44,10 +44,15 @@ public class Projeto {
     @Enumerated(EnumType.STRING)
     private StatusProjeto status;
 
-    @Transient
+    @Enumerated(EnumType.STRING)
+    @Column(name = "classificacao_risco", length = 10)
     private ClassificacaoRisco classificacaoRisco;
 
-    @ManyToOne
+    // Incrementada a cada gravação; exposta como ETag e conferida contra o If-Match nas edições
+    @Version
+    private Long versao;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "gerente_id", nullable = false)
     private Membro gerente;
 
@@ -59,20 +64,10 @@ public class Projeto {
     )
     private Set<Membro> membros = new HashSet<>();
 
-    @PostLoad
-    private void calcularClassificacaoRisco() {
-        long mesesDuracao = java.time.temporal.ChronoUnit.MONTHS.between(
-                dataInicio, previsaoTermino
-        );
-
-        if (orcamentoTotal.compareTo(new BigDecimal("100000")) <= 0 && mesesDuracao <= 3) {
-            classificacaoRisco = ClassificacaoRisco.BAIXO;
-        } else if ((orcamentoTotal.compareTo(new BigDecimal("100000")) > 0 &&
-                orcamentoTotal.compareTo(new BigDecimal("500000")) <= 0) ||
-                (mesesDuracao > 3 && mesesDuracao <= 6)) {
-            classificacaoRisco = ClassificacaoRisco.MEDIO;
-        } else {
-            classificacaoRisco = ClassificacaoRisco.ALTO;
-        }
+    // Persistida para permitir filtros e agregações no banco; recalculada apenas quando o projeto é gravado
+    @PrePersist
+    @PreUpdate
+    public void atualizarClassificacaoRisco() {
+        classificacaoRisco = ClassificacaoRisco.calcular(orcamentoTotal, dataInicio, previsaoTermino);
     }
 }
\ No newline at end of file
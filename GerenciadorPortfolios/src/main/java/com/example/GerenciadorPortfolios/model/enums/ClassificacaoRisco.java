@@ -1,10 +1,17 @@
 package com.example.GerenciadorPortfolios.model.enums;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
 public enum ClassificacaoRisco {
         BAIXO("Baixo Risco"),
         MEDIO("Médio Risco"),
         ALTO("Alto Risco");
 
+        private static final BigDecimal LIMITE_ORCAMENTO_BAIXO = new BigDecimal("100000");
+        private static final BigDecimal LIMITE_ORCAMENTO_MEDIO = new BigDecimal("500000");
+
         private final String descricao;
 
         ClassificacaoRisco(String descricao) {
@@ -14,4 +21,19 @@ public enum ClassificacaoRisco {
         public String getDescricao() {
                 return descricao;
         }
+
+        public static ClassificacaoRisco calcular(BigDecimal orcamentoTotal, LocalDate dataInicio,
+                                                  LocalDate previsaoTermino) {
+                long mesesDuracao = dataInicio != null && previsaoTermino != null ?
+                        ChronoUnit.MONTHS.between(dataInicio, previsaoTermino) : 0;
+
+                if (orcamentoTotal.compareTo(LIMITE_ORCAMENTO_BAIXO) <= 0 && mesesDuracao <= 3) {
+                        return BAIXO;
+                } else if ((orcamentoTotal.compareTo(LIMITE_ORCAMENTO_BAIXO) > 0 &&
+                        orcamentoTotal.compareTo(LIMITE_ORCAMENTO_MEDIO) <= 0) ||
+                        (mesesDuracao > 3 && mesesDuracao <= 6)) {
+                        return MEDIO;
+                }
+                return ALTO;
+        }
 }
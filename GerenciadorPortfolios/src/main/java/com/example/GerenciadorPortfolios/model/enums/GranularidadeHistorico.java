@@ -0,0 +1,28 @@
+package com.example.GerenciadorPortfolios.model.enums;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+public enum GranularidadeHistorico {
+        DIA,
+        SEMANA,
+        MES;
+
+        // Semanas começam na segunda-feira
+        public LocalDate inicio(LocalDate dia) {
+                return switch (this) {
+                        case DIA -> dia;
+                        case SEMANA -> dia.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                        case MES -> dia.withDayOfMonth(1);
+                };
+        }
+
+        public LocalDate fim(LocalDate inicio) {
+                return switch (this) {
+                        case DIA -> inicio;
+                        case SEMANA -> inicio.plusDays(6);
+                        case MES -> inicio.with(TemporalAdjusters.lastDayOfMonth());
+                };
+        }
+}
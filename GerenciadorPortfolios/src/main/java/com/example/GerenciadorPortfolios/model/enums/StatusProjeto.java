@@ -19,4 +19,9 @@ public enum StatusProjeto {
         public String getDescricao() {
                 return descricao;
         }
+
+        // Projetos ativos ocupam vaga dos membros no limite de alocação
+        public boolean isAtivo() {
+                return this != ENCERRADO && this != CANCELADO;
+        }
 }
@@ -0,0 +1,55 @@
+package com.example.GerenciadorPortfolios.observabilidade;
+
+import java.time.Duration;
+
+// Comandos SQL executados no JDBC (Hibernate e JdbcTemplate) e tempo gasto neles, na requisição corrente.
+// A medição fica na thread que atende a requisição; comandos fora de uma requisição (jobs, eventos
+// assíncronos, exportação em streaming) não são contados.
+public final class ContadorSql {
+    private static final ThreadLocal<Medicao> MEDICAO = new ThreadLocal<>();
+
+    public record MedicaoSql(int comandos, Duration tempoJdbc) {
+        static final MedicaoSql VAZIA = new MedicaoSql(0, Duration.ZERO);
+    }
+
+    private static final class Medicao {
+        private int comandos;
+        private long nanosJdbc;
+
+        private MedicaoSql paraRegistro() {
+            return new MedicaoSql(comandos, Duration.ofNanos(nanosJdbc));
+        }
+    }
+
+    private ContadorSql() {
+    }
+
+    public static void iniciar() {
+        MEDICAO.set(new Medicao());
+    }
+
+    static void registrarComando() {
+        Medicao medicao = MEDICAO.get();
+        if (medicao != null) {
+            medicao.comandos++;
+        }
+    }
+
+    static void registrarTempoJdbc(long nanos) {
+        Medicao medicao = MEDICAO.get();
+        if (medicao != null) {
+            medicao.nanosJdbc += nanos;
+        }
+    }
+
+    public static MedicaoSql atual() {
+        Medicao medicao = MEDICAO.get();
+        return medicao != null ? medicao.paraRegistro() : MedicaoSql.VAZIA;
+    }
+
+    public static MedicaoSql finalizar() {
+        MedicaoSql medicao = atual();
+        MEDICAO.remove();
+        return medicao;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.GerenciadorPortfolios.observabilidade;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+// Envolve o DataSource da aplicação: conta e cronometra cada execução JDBC na medição da requisição
+// corrente, venha ela do Hibernate, do JdbcTemplate ou de qualquer outro cliente do pool. Um executeBatch
+// conta como um comando (uma ida ao banco), como os lotes de inserção do Hibernate.
+public class ContadorSqlDataSource extends DelegatingDataSource {
+    private static final Set<String> CRIACAO_COMANDO = Set.of("createStatement", "prepareStatement", "prepareCall");
+
+    public ContadorSqlDataSource(DataSource alvo) {
+        super(alvo);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return contar(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String usuario, String senha) throws SQLException {
+        return contar(super.getConnection(usuario, senha));
+    }
+
+    private static Connection contar(Connection conexao) {
+        return (Connection) Proxy.newProxyInstance(ContadorSqlDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConexaoContada(conexao));
+    }
+
+    private record ConexaoContada(Connection conexao) implements InvocationHandler {
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] argumentos) throws Throwable {
+            Object resultado = delegar(conexao, metodo, argumentos);
+            if (CRIACAO_COMANDO.contains(metodo.getName())) {
+                return Proxy.newProxyInstance(ContadorSqlDataSource.class.getClassLoader(),
+                        new Class<?>[]{metodo.getReturnType()}, new ComandoContado((Statement) resultado, proxy));
+            }
+            return resultado;
+        }
+    }
+
+    private record ComandoContado(Statement comando, Object conexao) implements InvocationHandler {
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] argumentos) throws Throwable {
+            if (metodo.getName().equals("getConnection")) {
+                return conexao;
+            }
+            if (!metodo.getName().startsWith("execute")) {
+                return delegar(comando, metodo, argumentos);
+            }
+            long inicio = System.nanoTime();
+            try {
+                return delegar(comando, metodo, argumentos);
+            } finally {
+                ContadorSql.registrarComando();
+                ContadorSql.registrarTempoJdbc(System.nanoTime() - inicio);
+            }
+        }
+    }
+
+    private static Object delegar(Object alvo, Method metodo, Object[] argumentos) throws Throwable {
+        try {
+            return metodo.invoke(alvo, argumentos);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
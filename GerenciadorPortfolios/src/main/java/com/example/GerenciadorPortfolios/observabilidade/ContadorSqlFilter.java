@@ -0,0 +1,51 @@
+package com.example.GerenciadorPortfolios.observabilidade;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+// Comandos SQL (portfolio.http.sql.comandos) e tempo de JDBC (portfolio.http.sql.tempo) por requisição,
+// por método e padrão de URI; só com a contagem ligada (ObservabilidadeConfig)
+@Component
+@ConditionalOnProperty(name = "portfolio.sql.orcamento.ativo", havingValue = "true")
+@RequiredArgsConstructor
+public class ContadorSqlFilter extends OncePerRequestFilter {
+    public static final String METRICA = "portfolio.http.sql.comandos";
+    public static final String METRICA_TEMPO = "portfolio.http.sql.tempo";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ContadorSql.iniciar();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ContadorSql.MedicaoSql medicao = ContadorSql.finalizar();
+            Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            Tags tags = Tags.of("metodo", request.getMethod(), "uri", uri != null ? uri.toString() : "DESCONHECIDA");
+            DistributionSummary.builder(METRICA)
+                    .baseUnit("comandos")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .record(medicao.comandos());
+            Timer.builder(METRICA_TEMPO)
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .record(medicao.tempoJdbc());
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.GerenciadorPortfolios.observabilidade;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Locale;
+
+// Perfil debug: expõe a medição SQL da requisição nos cabeçalhos, antes do corpo ser escrito
+@Profile("debug")
+@ConditionalOnProperty(name = "portfolio.sql.orcamento.ativo", havingValue = "true")
+@ControllerAdvice
+public class ContadorSqlHeadersAdvice implements ResponseBodyAdvice<Object> {
+    public static final String CABECALHO_COMANDOS = "X-SQL-Comandos";
+    public static final String CABECALHO_TEMPO = "X-SQL-Tempo-Ms";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        ContadorSql.MedicaoSql medicao = ContadorSql.atual();
+        response.getHeaders().set(CABECALHO_COMANDOS, String.valueOf(medicao.comandos()));
+        response.getHeaders().set(CABECALHO_TEMPO, String.format(Locale.ROOT, "%.3f",
+                medicao.tempoJdbc().toNanos() / 1_000_000.0));
+        return body;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.GerenciadorPortfolios.observabilidade;
+
+import com.example.GerenciadorPortfolios.event.EventoProjeto;
+import com.example.GerenciadorPortfolios.event.EventosProjetoDespachados;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+// Consumidor do outbox: conta eventos por tipo e mede o tempo entre a gravação e a entrega
+@Component
+@RequiredArgsConstructor
+public class EventosProjetoMetricas {
+    private final MeterRegistry meterRegistry;
+
+    @EventListener
+    public void aoDespacharEventos(EventosProjetoDespachados despachados) {
+        LocalDateTime agora = LocalDateTime.now();
+        for (EventoProjeto evento : despachados.eventos()) {
+            meterRegistry.counter("portfolio.projetos.eventos", "tipo", evento.tipo().name()).increment();
+            meterRegistry.timer("portfolio.projetos.eventos.atraso").record(Duration.between(evento.criadoEm(), agora));
+        }
+    }
+}
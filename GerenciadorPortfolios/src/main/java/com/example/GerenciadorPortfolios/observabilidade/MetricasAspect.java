@@ -0,0 +1,58 @@
+package com.example.GerenciadorPortfolios.observabilidade;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+// Timer portfolio.operacao em todos os métodos públicos de services, mappers e repositórios JDBC,
+// com tags camada, operacao (Classe.metodo), resultado e excecao. Os repositórios Spring Data já são
+// medidos pelo Spring Boot em spring.data.repository.invocations.
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class MetricasAspect {
+    public static final String METRICA = "portfolio.operacao";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(public * com.example.GerenciadorPortfolios.service..*(..))")
+    public Object medirServico(ProceedingJoinPoint joinPoint) throws Throwable {
+        return medir(joinPoint, "servico");
+    }
+
+    @Around("execution(public * com.example.GerenciadorPortfolios.mapper..*(..))")
+    public Object medirMapper(ProceedingJoinPoint joinPoint) throws Throwable {
+        return medir(joinPoint, "mapper");
+    }
+
+    @Around("execution(public * com.example.GerenciadorPortfolios.repository..*(..)) && " +
+            "!within(org.springframework.data.repository.Repository+)")
+    public Object medirRepositorio(ProceedingJoinPoint joinPoint) throws Throwable {
+        return medir(joinPoint, "repositorio");
+    }
+
+    private Object medir(ProceedingJoinPoint joinPoint, String camada) throws Throwable {
+        Timer.Sample amostra = Timer.start(meterRegistry);
+        String resultado = "sucesso";
+        String excecao = "nenhuma";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            resultado = "erro";
+            excecao = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            amostra.stop(Timer.builder(METRICA)
+                    .tag("camada", camada)
+                    .tag("operacao", joinPoint.getSignature().getDeclaringType().getSimpleName() + "." +
+                            joinPoint.getSignature().getName())
+                    .tag("resultado", resultado)
+                    .tag("excecao", excecao)
+                    .register(meterRegistry));
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.GerenciadorPortfolios.observabilidade;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Máximo de comandos SQL que o endpoint pode emitir por requisição. Excedê-lo gera alerta no log e na
+// métrica portfolio.http.sql.orcamento.excedido, e falha o OrcamentoSqlIntegrationTest.
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface OrcamentoSql {
+    int value();
+}
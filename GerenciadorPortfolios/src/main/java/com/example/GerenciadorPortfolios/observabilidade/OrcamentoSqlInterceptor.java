@@ -0,0 +1,40 @@
+package com.example.GerenciadorPortfolios.observabilidade;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "portfolio.sql.orcamento.ativo", havingValue = "true")
+@RequiredArgsConstructor
+public class OrcamentoSqlInterceptor implements HandlerInterceptor {
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return;
+        }
+        OrcamentoSql orcamento = handlerMethod.getMethodAnnotation(OrcamentoSql.class);
+        if (orcamento == null) {
+            return;
+        }
+        int comandos = ContadorSql.atual().comandos();
+        if (comandos > orcamento.value()) {
+            Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            log.warn("{} {} emitiu {} comandos SQL (orçamento: {})",
+                    request.getMethod(), uri, comandos, orcamento.value());
+            meterRegistry.counter("portfolio.http.sql.orcamento.excedido",
+                    "metodo", request.getMethod(), "uri", String.valueOf(uri)).increment();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.GerenciadorPortfolios.observabilidade;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+// Complementa as métricas hikaricp.connections.* do Spring Boot com a fração do pool em uso
+// (ativas / máximo) e a fila de threads por conexão em relação ao tamanho do pool. Saturação perto
+// de 1 com espera crescente em hikaricp.connections.acquire indica pool (ou banco) no limite.
+@Component
+@RequiredArgsConstructor
+public class SaturacaoPoolMetricas implements MeterBinder {
+    private final Map<String, DataSource> dataSources;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        // Um DataSource de roteamento embrulha os mesmos pools já registrados como beans: cada pool uma vez só
+        Set<HikariDataSource> registrados = Collections.newSetFromMap(new IdentityHashMap<>());
+        dataSources.forEach((nomeBean, dataSource) -> {
+            HikariDataSource hikari = hikari(dataSource);
+            if (hikari == null || !registrados.add(hikari)) {
+                return;
+            }
+            // Pool ainda não iniciado não tem nome: usa o do bean
+            String pool = hikari.getPoolName() != null ? hikari.getPoolName() : nomeBean;
+            Gauge.builder("portfolio.db.pool.saturacao", hikari, SaturacaoPoolMetricas::saturacao)
+                    .tag("pool", pool)
+                    .description("Conexões ativas sobre o tamanho máximo do pool")
+                    .register(registry);
+            Gauge.builder("portfolio.db.pool.fila", hikari, SaturacaoPoolMetricas::fila)
+                    .tag("pool", pool)
+                    .description("Threads aguardando conexão sobre o tamanho máximo do pool")
+                    .register(registry);
+        });
+    }
+
+    static double saturacao(HikariDataSource hikari) {
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        return pool != null ? (double) pool.getActiveConnections() / hikari.getMaximumPoolSize() : 0;
+    }
+
+    static double fila(HikariDataSource hikari) {
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        return pool != null ? (double) pool.getThreadsAwaitingConnection() / hikari.getMaximumPoolSize() : 0;
+    }
+
+    private static HikariDataSource hikari(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
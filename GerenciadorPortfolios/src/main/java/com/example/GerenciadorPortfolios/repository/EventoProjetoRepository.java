@@ -0,0 +1,118 @@
+package com.example.GerenciadorPortfolios.repository;
+
+import com.example.GerenciadorPortfolios.event.EventoProjeto;
+import com.example.GerenciadorPortfolios.event.ProjetoAlteradoEvent;
+import com.example.GerenciadorPortfolios.event.ProjetoSnapshot;
+import com.example.GerenciadorPortfolios.event.TipoEventoProjeto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Outbox eventos_projeto. Quem grava precisa estar na transação da escrita do projeto: o evento só existe
+// se a alteração for confirmada.
+@Repository
+@RequiredArgsConstructor
+public class EventoProjetoRepository {
+    private static final String REGISTRAR =
+            "INSERT INTO eventos_projeto (projeto_id, tipo, status_anterior, status_novo, payload, criado_em) " +
+                    "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String BUSCAR_APOS =
+            "SELECT id, tipo, payload, criado_em FROM eventos_projeto WHERE id > ? ORDER BY id LIMIT ?";
+
+    private static final String BUSCAR_DESDE =
+            "SELECT id, tipo, payload, criado_em FROM eventos_projeto WHERE criado_em >= ? AND id <= ? " +
+                    "ORDER BY criado_em DESC, id DESC";
+
+    private static final String IDS_RECENTES =
+            "SELECT id FROM eventos_projeto WHERE id >= " +
+                    "COALESCE((SELECT MAX(id) FROM eventos_projeto WHERE criado_em < ?), 0) ORDER BY id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public void registrar(ProjetoAlteradoEvent evento) {
+        registrar(List.of(evento));
+    }
+
+    @SneakyThrows
+    public void registrar(List<ProjetoAlteradoEvent> eventos) {
+        if (eventos.isEmpty()) {
+            return;
+        }
+        // Serializa antes do lote: o setter do JdbcTemplate não deixa passar a exceção do Jackson
+        List<String> payloads = new ArrayList<>(eventos.size());
+        for (ProjetoAlteradoEvent evento : eventos) {
+            payloads.add(objectMapper.writeValueAsString(evento));
+        }
+        Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(REGISTRAR, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ProjetoAlteradoEvent evento = eventos.get(i);
+                ps.setLong(1, evento.projetoId());
+                ps.setString(2, evento.tipo().name());
+                ps.setString(3, nomeStatus(evento.anterior()));
+                ps.setString(4, nomeStatus(evento.atual()));
+                ps.setString(5, payloads.get(i));
+                ps.setTimestamp(6, agora);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return eventos.size();
+            }
+        });
+    }
+
+    public List<EventoProjeto> buscarApos(long id, int limite) {
+        return jdbcTemplate.query(BUSCAR_APOS, this::mapear, id, limite);
+    }
+
+    // Eventos gravados a partir de "inicio" até o id informado, do mais recente para o mais antigo
+    public List<EventoProjeto> buscarDesde(LocalDateTime inicio, long ateId) {
+        return jdbcTemplate.query(BUSCAR_DESDE, this::mapear, Timestamp.valueOf(inicio), ateId);
+    }
+
+    // Ids a partir do último evento gravado antes de "desde" (inclusive), em ordem; sem evento anterior, todos
+    public List<Long> idsRecentes(LocalDateTime desde) {
+        return jdbcTemplate.queryForList(IDS_RECENTES, Long.class, Timestamp.valueOf(desde));
+    }
+
+    public long ultimoId() {
+        Long id = jdbcTemplate.queryForObject("SELECT MAX(id) FROM eventos_projeto", Long.class);
+        return id != null ? id : 0L;
+    }
+
+    public int removerAnteriores(LocalDateTime limite) {
+        return jdbcTemplate.update("DELETE FROM eventos_projeto WHERE criado_em < ?", Timestamp.valueOf(limite));
+    }
+
+    private EventoProjeto mapear(ResultSet rs, int linha) throws SQLException {
+        return new EventoProjeto(
+                rs.getLong("id"),
+                TipoEventoProjeto.valueOf(rs.getString("tipo")),
+                rs.getTimestamp("criado_em").toLocalDateTime(),
+                lerPayload(rs.getString("payload")));
+    }
+
+    private static String nomeStatus(ProjetoSnapshot projeto) {
+        return projeto != null && projeto.status() != null ? projeto.status().name() : null;
+    }
+
+    @SneakyThrows
+    private ProjetoAlteradoEvent lerPayload(String payload) {
+        return objectMapper.readValue(payload, ProjetoAlteradoEvent.class);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.GerenciadorPortfolios.repository;
+
+import com.example.GerenciadorPortfolios.model.enums.StatusProjeto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Fechamentos em historico_portfolio (só recebem INSERT); as transições do dia vêm do outbox eventos_projeto
+@Repository
+@RequiredArgsConstructor
+public class HistoricoPortfolioRepository {
+    private static final String CONTAR_TRANSICOES =
+            "SELECT status_novo, COUNT(*) AS quantidade FROM eventos_projeto " +
+                    "WHERE tipo IN ('CRIACAO', 'MUDANCA_STATUS') AND criado_em >= ? AND criado_em < ? GROUP BY status_novo";
+
+    private static final String INSERIR_FECHAMENTO =
+            "INSERT INTO historico_portfolio (dia, status, quantidade, orcamento_total, transicoes) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String BUSCAR_FECHAMENTOS =
+            "SELECT dia, status, quantidade, orcamento_total, transicoes FROM historico_portfolio " +
+                    "WHERE dia BETWEEN ? AND ? ORDER BY dia";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record Fechamento(LocalDate dia, StatusProjeto status, long quantidade, BigDecimal orcamentoTotal,
+                             long transicoes) {
+    }
+
+    public Map<StatusProjeto, Long> contarTransicoes(LocalDateTime inicio, LocalDateTime fim) {
+        Map<StatusProjeto, Long> transicoes = new EnumMap<>(StatusProjeto.class);
+        jdbcTemplate.query(CONTAR_TRANSICOES,
+                rs -> {
+                    transicoes.put(StatusProjeto.valueOf(rs.getString("status_novo")), rs.getLong("quantidade"));
+                },
+                Timestamp.valueOf(inicio), Timestamp.valueOf(fim));
+        return transicoes;
+    }
+
+    public boolean existeFechamento(LocalDate dia) {
+        Integer linhas = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM historico_portfolio WHERE dia = ?",
+                Integer.class, Date.valueOf(dia));
+        return linhas != null && linhas > 0;
+    }
+
+    public Optional<LocalDate> ultimoDiaFechado() {
+        Date dia = jdbcTemplate.queryForObject("SELECT MAX(dia) FROM historico_portfolio", Date.class);
+        return Optional.ofNullable(dia).map(Date::toLocalDate);
+    }
+
+    public void inserirFechamentos(List<Fechamento> fechamentos) {
+        jdbcTemplate.batchUpdate(INSERIR_FECHAMENTO, fechamentos, fechamentos.size(), (ps, fechamento) -> {
+            ps.setDate(1, Date.valueOf(fechamento.dia()));
+            ps.setString(2, fechamento.status().name());
+            ps.setLong(3, fechamento.quantidade());
+            ps.setBigDecimal(4, fechamento.orcamentoTotal());
+            ps.setLong(5, fechamento.transicoes());
+        });
+    }
+
+    public List<Fechamento> buscarFechamentos(LocalDate de, LocalDate ate) {
+        return jdbcTemplate.query(BUSCAR_FECHAMENTOS,
+                (rs, linha) -> new Fechamento(
+                        rs.getDate("dia").toLocalDate(),
+                        StatusProjeto.valueOf(rs.getString("status")),
+                        rs.getLong("quantidade"),
+                        rs.getBigDecimal("orcamento_total"),
+                        rs.getLong("transicoes")),
+                Date.valueOf(de), Date.valueOf(ate));
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.GerenciadorPortfolios.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+// Contador membros.projetos_ativos: cada vaga é reservada com um UPDATE condicional ao limite, de modo que
+// alocações concorrentes do mesmo membro se serializam no lock da linha em vez de contar e depois inserir.
+// Fica fora do mapeamento JPA para que o Membro em cache nunca sobrescreva o valor.
+@Repository
+@RequiredArgsConstructor
+public class MembroAlocacaoRepository {
+    // Mesmo tamanho do lote da importação
+    private static final int IDS_POR_CONSULTA = 500;
+
+    private static final String RESERVAR =
+            "UPDATE membros SET projetos_ativos = projetos_ativos + ? WHERE id = ? AND projetos_ativos + ? <= ?";
+
+    private static final String LIBERAR =
+            "UPDATE membros SET projetos_ativos = projetos_ativos - 1 WHERE id = ?";
+
+    private static final String LIBERAR_POR_PROJETO =
+            "UPDATE membros SET projetos_ativos = projetos_ativos - 1 " +
+                    "WHERE id IN (SELECT membro_id FROM projeto_membros WHERE projeto_id = ?)";
+
+    private static final String RECALCULAR =
+            "UPDATE membros m SET projetos_ativos = (SELECT COUNT(*) FROM projeto_membros pm " +
+                    "JOIN projetos p ON p.id = pm.projeto_id " +
+                    "WHERE pm.membro_id = m.id AND p.status NOT IN ('ENCERRADO', 'CANCELADO'))";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<Long> reservar(Collection<Long> membrosIds, int limite) {
+        return reservar(membrosIds.stream().collect(Collectors.toMap(id -> id, id -> 1L)), limite);
+    }
+
+    // Reserva as vagas em lote e devolve os membros que já estavam no limite. Quem chama deve desfazer a
+    // transação nesse caso, já que as demais reservas do lote foram gravadas. Ordem crescente de id para
+    // que transações concorrentes travem as linhas na mesma ordem (sem deadlock).
+    public List<Long> reservar(Map<Long, Long> vagasPorMembro, int limite) {
+        if (vagasPorMembro.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = new ArrayList<>(new TreeMap<>(vagasPorMembro).keySet());
+        int[][] resultados = jdbcTemplate.batchUpdate(RESERVAR, ids, ids.size(), (ps, id) -> {
+            long vagas = vagasPorMembro.get(id);
+            ps.setLong(1, vagas);
+            ps.setLong(2, id);
+            ps.setLong(3, vagas);
+            ps.setInt(4, limite);
+        });
+
+        List<Long> semVaga = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (resultados[0][i] == 0) {
+                semVaga.add(ids.get(i));
+            }
+        }
+        return semVaga;
+    }
+
+    public void liberar(Collection<Long> membrosIds) {
+        if (!membrosIds.isEmpty()) {
+            jdbcTemplate.batchUpdate(LIBERAR, new TreeSet<>(membrosIds), membrosIds.size(),
+                    (ps, id) -> ps.setLong(1, id));
+        }
+    }
+
+    public void liberarPorProjeto(Long projetoId) {
+        jdbcTemplate.update(LIBERAR_POR_PROJETO, projetoId);
+    }
+
+    // Em blocos de IDS_POR_CONSULTA: uma importação grande referencia milhares de membros, e uma lista IN
+    // única esbarraria no limite de parâmetros do driver (32767 no PostgreSQL)
+    public Map<Long, Long> contarProjetosAtivos(Set<Long> membrosIds) {
+        Map<Long, Long> projetosAtivos = new HashMap<>();
+        List<Long> ids = new ArrayList<>(membrosIds);
+        for (int inicio = 0; inicio < ids.size(); inicio += IDS_POR_CONSULTA) {
+            List<Long> bloco = ids.subList(inicio, Math.min(inicio + IDS_POR_CONSULTA, ids.size()));
+            String parametros = String.join(", ", Collections.nCopies(bloco.size(), "?"));
+            jdbcTemplate.query("SELECT id, projetos_ativos FROM membros WHERE id IN (" + parametros + ")",
+                    rs -> {
+                        projetosAtivos.put(rs.getLong("id"), rs.getLong("projetos_ativos"));
+                    },
+                    bloco.toArray());
+        }
+        return projetosAtivos;
+    }
+
+    // Reconstrói o contador a partir das associações; para cargas feitas por fora do ProjetoService
+    public void recalcular() {
+        jdbcTemplate.update(RECALCULAR);
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 @Repository
@@ -14,6 +15,8 @@ public interface MembroRepository extends JpaRepository<Membro, Long> {
 
     List<Membro> findByAtribuicao(String atribuicao);
 
+    Optional<Membro> findByIdentificadorExterno(String identificadorExterno);
+
     // Método para buscar vários membros de uma vez
     List<Membro> findAllByIdIn(Set<Long> ids);
 
@@ -0,0 +1,58 @@
+package com.example.GerenciadorPortfolios.repository;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Busca textual em nome e descrição. No PostgreSQL usa a coluna tsvector "busca" (índice GIN), com prefixos
+// e ordenação por relevância (ts_rank); nos demais bancos (H2 nos testes) recorre a LIKE, sem índice.
+@Repository
+public class ProjetoBuscaRepository {
+    private static final String BUSCA_POSTGRES =
+            "SELECT p.id FROM projetos p, to_tsquery('portuguese', ?) consulta " +
+                    "WHERE p.busca @@ consulta " +
+                    "ORDER BY ts_rank(p.busca, consulta) DESC, p.id LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean postgres;
+
+    public ProjetoBuscaRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.postgres = Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) conexao ->
+                "PostgreSQL".equals(conexao.getMetaData().getDatabaseProductName())));
+    }
+
+    // Termos devem conter apenas letras e dígitos; todos precisam aparecer (como prefixo) em nome ou descrição
+    public List<Long> buscarIds(List<String> termos, int limite) {
+        return postgres ? buscarIdsPostgres(termos, limite) : buscarIdsLike(termos, limite);
+    }
+
+    private List<Long> buscarIdsPostgres(List<String> termos, int limite) {
+        String consulta = termos.stream().map(termo -> termo + ":*").collect(Collectors.joining(" & "));
+        return jdbcTemplate.queryForList(BUSCA_POSTGRES, Long.class, consulta, limite);
+    }
+
+    // Relevância aproximada: projetos com mais termos no nome vêm primeiro
+    private List<Long> buscarIdsLike(List<String> termos, int limite) {
+        String filtro = String.join(" AND ", Collections.nCopies(termos.size(),
+                "(UPPER(nome) LIKE UPPER(?) OR UPPER(descricao) LIKE UPPER(?))"));
+        String relevancia = String.join(" + ", Collections.nCopies(termos.size(),
+                "CASE WHEN UPPER(nome) LIKE UPPER(?) THEN 1 ELSE 0 END"));
+
+        List<Object> parametros = new ArrayList<>();
+        termos.forEach(termo -> {
+            parametros.add("%" + termo + "%");
+            parametros.add("%" + termo + "%");
+        });
+        termos.forEach(termo -> parametros.add("%" + termo + "%"));
+        parametros.add(limite);
+
+        return jdbcTemplate.queryForList("SELECT id FROM projetos WHERE " + filtro +
+                " ORDER BY " + relevancia + " DESC, id LIMIT ?", Long.class, parametros.toArray());
+    }
+}
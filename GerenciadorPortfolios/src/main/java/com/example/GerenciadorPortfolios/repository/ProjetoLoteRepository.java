@@ -0,0 +1,80 @@
+package com.example.GerenciadorPortfolios.repository;
+
+import com.example.GerenciadorPortfolios.model.Membro;
+import com.example.GerenciadorPortfolios.model.Projeto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Inserções em lote via JDBC: com GenerationType.IDENTITY o Hibernate não consegue agrupar os INSERTs
+@Repository
+@RequiredArgsConstructor
+public class ProjetoLoteRepository {
+    private static final String INSERT_PROJETO =
+            "INSERT INTO projetos (nome, data_inicio, previsao_termino, data_real_termino, " +
+                    "orcamento_total, descricao, status, classificacao_risco, gerente_id) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_PROJETO_MEMBRO =
+            "INSERT INTO projeto_membros (projeto_id, membro_id) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void inserir(List<Projeto> projetos) {
+        projetos.forEach(Projeto::atualizarClassificacaoRisco);
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(INSERT_PROJETO, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Projeto projeto = projetos.get(i);
+                        ps.setString(1, projeto.getNome());
+                        ps.setDate(2, toSqlDate(projeto.getDataInicio()));
+                        ps.setDate(3, toSqlDate(projeto.getPrevisaoTermino()));
+                        ps.setDate(4, toSqlDate(projeto.getDataRealTermino()));
+                        ps.setBigDecimal(5, projeto.getOrcamentoTotal());
+                        ps.setString(6, projeto.getDescricao());
+                        ps.setString(7, projeto.getStatus().name());
+                        ps.setString(8, projeto.getClassificacaoRisco().name());
+                        ps.setLong(9, projeto.getGerente().getId());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return projetos.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> chaves = keyHolder.getKeyList();
+        for (int i = 0; i < projetos.size(); i++) {
+            projetos.get(i).setId(((Number) chaves.get(i).get("id")).longValue());
+        }
+
+        List<Object[]> membros = new ArrayList<>();
+        for (Projeto projeto : projetos) {
+            for (Membro membro : projeto.getMembros()) {
+                membros.add(new Object[]{projeto.getId(), membro.getId()});
+            }
+        }
+        if (!membros.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_PROJETO_MEMBRO, membros);
+        }
+    }
+
+    private static Date toSqlDate(LocalDate data) {
+        return data != null ? Date.valueOf(data) : null;
+    }
+}
@@ -2,37 +2,92 @@ package com.example.GerenciadorPortfolios.repository;
 
 import com.example.GerenciadorPortfolios.model.Projeto;
 import com.example.GerenciadorPortfolios.model.enums.StatusProjeto;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.*;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
-import java.util.Map;
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
-public interface ProjetoRepository extends JpaRepository<Projeto, Long> {
+public interface ProjetoRepository extends JpaRepository<Projeto, Long>, JpaSpecificationExecutor<Projeto> {
+
+    // Paginação por keyset: busca a partir da última posição, sem OFFSET nem COUNT
+    Window<Projeto> findBy(ScrollPosition posicao, Sort sort, Limit limite);
+
+    Window<Projeto> findByNomeContainingIgnoreCase(String nome, ScrollPosition posicao, Sort sort, Limit limite);
+
+    // Segunda fase da listagem: inicializa os membros de uma página inteira em uma única consulta
+    @Query("SELECT DISTINCT p FROM Projeto p LEFT JOIN FETCH p.membros WHERE p.id IN :ids")
+    List<Projeto> findComMembrosByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p FROM Projeto p LEFT JOIN FETCH p.membros WHERE p.id = :id")
+    Optional<Projeto> findComMembrosById(@Param("id") Long id);
+
+    // Status e versão atuais, para validar transições sem carregar a entidade
+    interface EstadoProjeto {
+        StatusProjeto getStatus();
+
+        Long getVersao();
+    }
 
-    Page<Projeto> findByNomeContainingIgnoreCase(String nome, Pageable pageable);
+    Optional<EstadoProjeto> findEstadoById(Long id);
 
-    List<Projeto> findByStatusIn(List<StatusProjeto> status);
+    // Compare-and-set: só grava se o status (e a versão, quando informada) ainda forem os esperados
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Projeto p SET p.status = :novoStatus, p.versao = p.versao + 1, " +
+            "p.dataRealTermino = CASE WHEN :novoStatus = com.example.GerenciadorPortfolios.model.enums.StatusProjeto.ENCERRADO " +
+            "THEN CURRENT_DATE ELSE p.dataRealTermino END " +
+            "WHERE p.id = :id AND p.status = :statusEsperado AND (:versao IS NULL OR p.versao = :versao)")
+    int atualizarStatusSeIgual(@Param("id") Long id,
+                               @Param("statusEsperado") StatusProjeto statusEsperado,
+                               @Param("novoStatus") StatusProjeto novoStatus,
+                               @Param("versao") Long versao);
 
-    @Query("SELECT p.status as status, COUNT(p) as quantidade FROM Projeto p GROUP BY p.status")
-    List<Map<String, Object>> countProjetosByStatus();
+    // Cursor somente-leitura para exportação completa do portfólio
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Projeto p ORDER BY p.id")
+    Stream<Projeto> streamTodos();
 
-    @Query("SELECT p.status as status, SUM(p.orcamentoTotal) as total FROM Projeto p GROUP BY p.status")
-    List<Map<String, Object>> sumOrcamentoByStatus();
+    // Relatório em uma passada: uma linha por status, com orçamento, risco e duração agregados condicionalmente
+    interface ResumoStatus {
+        StatusProjeto getStatus();
+        Long getQuantidade();
+        BigDecimal getOrcamentoTotal();
+        Long getRiscoBaixo();
+        Long getRiscoMedio();
+        Long getRiscoAlto();
+        Long getComTermino();
+        Long getDiasAteTermino();
+    }
 
-    @Query(value = "SELECT AVG(EXTRACT(DAY FROM (p.data_real_termino - p.data_inicio))) " +
-            "FROM projetos p " +
-            "WHERE p.status = 'ENCERRADO' AND p.data_real_termino IS NOT NULL",
-            nativeQuery = true)
-    Double calcularMediaDuracaoProjetosEncerrados();
+    @Query("SELECT p.status AS status, COUNT(p) AS quantidade, SUM(p.orcamentoTotal) AS orcamentoTotal, " +
+            "SUM(CASE WHEN p.classificacaoRisco = com.example.GerenciadorPortfolios.model.enums.ClassificacaoRisco.BAIXO THEN 1 ELSE 0 END) AS riscoBaixo, " +
+            "SUM(CASE WHEN p.classificacaoRisco = com.example.GerenciadorPortfolios.model.enums.ClassificacaoRisco.MEDIO THEN 1 ELSE 0 END) AS riscoMedio, " +
+            "SUM(CASE WHEN p.classificacaoRisco = com.example.GerenciadorPortfolios.model.enums.ClassificacaoRisco.ALTO THEN 1 ELSE 0 END) AS riscoAlto, " +
+            "SUM(CASE WHEN p.dataRealTermino IS NOT NULL THEN 1 ELSE 0 END) AS comTermino, " +
+            "SUM(CASE WHEN p.dataRealTermino IS NOT NULL THEN (p.dataRealTermino - p.dataInicio) BY DAY ELSE 0 END) AS diasAteTermino " +
+            "FROM Projeto p WHERE p.status IS NOT NULL GROUP BY p.status")
+    List<ResumoStatus> resumirPorStatus();
 
-    @Query("SELECT COUNT(DISTINCT m.id) FROM Projeto p JOIN p.membros m")
-    Long countMembrosUnicosAlocados();
+    interface ProjetosPorMembro {
+        Long getMembroId();
+        Long getQuantidade();
+    }
 
-    @Query("SELECT COUNT(p) FROM Projeto p JOIN p.membros m WHERE m.id = :membroId AND p.status NOT IN ('ENCERRADO', 'CANCELADO')")
-    Long countProjetosAtivosPorMembro(Long membroId);
+    @Query("SELECT m.id AS membroId, COUNT(p) AS quantidade FROM Projeto p JOIN p.membros m GROUP BY m.id")
+    List<ProjetosPorMembro> countProjetosPorMembro();
 }
\ No newline at end of file
@@ -0,0 +1,92 @@
+package com.example.GerenciadorPortfolios.repository;
+
+import com.example.GerenciadorPortfolios.dto.FiltroProjetoDTO;
+import com.example.GerenciadorPortfolios.model.Projeto;
+import com.example.GerenciadorPortfolios.model.enums.ClassificacaoRisco;
+import com.example.GerenciadorPortfolios.model.enums.StatusProjeto;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+
+// Predicados da listagem de projetos, cada um sobre uma coluna indexada (ver db/migration).
+// Critérios nulos não geram predicado.
+public final class ProjetoSpecifications {
+
+    private ProjetoSpecifications() {
+    }
+
+    public static Specification<Projeto> comFiltro(FiltroProjetoDTO filtro) {
+        if (filtro == null) {
+            return Specification.where(null);
+        }
+        return Specification.where(nomeContem(filtro.getNome()))
+                .and(statusEm(filtro.getStatus()))
+                .and(doGerente(filtro.getGerenteId()))
+                .and(orcamentoEntre(filtro.getOrcamentoMinimo(), filtro.getOrcamentoMaximo()))
+                .and(inicioEntre(filtro.getInicioDe(), filtro.getInicioAte()))
+                .and(comRisco(filtro.getRisco()));
+    }
+
+    // upper(nome) like upper(...): mesma expressão do índice trigram do PostgreSQL
+    public static Specification<Projeto> nomeContem(String nome) {
+        if (nome == null || nome.isBlank()) {
+            return null;
+        }
+        String padrao = "%" + nome.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return (root, query, cb) -> cb.like(cb.upper(root.get("nome")), cb.upper(cb.literal(padrao)), '\\');
+    }
+
+    public static Specification<Projeto> statusEm(Collection<StatusProjeto> status) {
+        if (status == null || status.isEmpty()) {
+            return null;
+        }
+        return (root, query, cb) -> root.get("status").in(status);
+    }
+
+    // Compara a FK direto, sem join com membros
+    public static Specification<Projeto> doGerente(Long gerenteId) {
+        if (gerenteId == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("gerente").get("id"), gerenteId);
+    }
+
+    public static Specification<Projeto> orcamentoEntre(BigDecimal minimo, BigDecimal maximo) {
+        if (minimo == null && maximo == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            if (minimo == null) {
+                return cb.lessThanOrEqualTo(root.get("orcamentoTotal"), maximo);
+            }
+            if (maximo == null) {
+                return cb.greaterThanOrEqualTo(root.get("orcamentoTotal"), minimo);
+            }
+            return cb.between(root.get("orcamentoTotal"), minimo, maximo);
+        };
+    }
+
+    public static Specification<Projeto> inicioEntre(LocalDate de, LocalDate ate) {
+        if (de == null && ate == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            if (de == null) {
+                return cb.lessThanOrEqualTo(root.get("dataInicio"), ate);
+            }
+            if (ate == null) {
+                return cb.greaterThanOrEqualTo(root.get("dataInicio"), de);
+            }
+            return cb.between(root.get("dataInicio"), de, ate);
+        };
+    }
+
+    public static Specification<Projeto> comRisco(ClassificacaoRisco risco) {
+        if (risco == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("classificacaoRisco"), risco);
+    }
+}
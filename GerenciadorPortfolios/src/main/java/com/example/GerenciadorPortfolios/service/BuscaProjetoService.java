@@ -0,0 +1,53 @@
+package com.example.GerenciadorPortfolios.service;
+
+import com.example.GerenciadorPortfolios.dto.ProjetoDTO;
+import com.example.GerenciadorPortfolios.exception.ValidacaoException;
+import com.example.GerenciadorPortfolios.mapper.ProjetoMapper;
+import com.example.GerenciadorPortfolios.model.Projeto;
+import com.example.GerenciadorPortfolios.repository.ProjetoBuscaRepository;
+import com.example.GerenciadorPortfolios.repository.ProjetoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class BuscaProjetoService {
+    private final ProjetoBuscaRepository projetoBuscaRepository;
+    private final ProjetoRepository projetoRepository;
+    private final ProjetoMapper projetoMapper;
+
+    private static final int MAXIMO_TERMOS = 8;
+    private static final int MAXIMO_RESULTADOS = 100;
+
+    // Ids ordenados por relevância no banco; os projetos (com membros) são carregados em uma segunda consulta
+    @Transactional(readOnly = true)
+    public List<ProjetoDTO> buscar(String texto, int limite) {
+        List<String> termos = Arrays.stream(texto.split("[^\\p{L}\\p{N}]+"))
+                .filter(termo -> !termo.isEmpty())
+                .limit(MAXIMO_TERMOS)
+                .toList();
+        if (termos.isEmpty()) {
+            throw new ValidacaoException("Informe ao menos um termo de busca");
+        }
+
+        List<Long> ids = projetoBuscaRepository.buscarIds(termos, Math.max(1, Math.min(limite, MAXIMO_RESULTADOS)));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Projeto> projetos = projetoRepository.findComMembrosByIdIn(ids).stream()
+                .collect(Collectors.toMap(Projeto::getId, Function.identity()));
+        return ids.stream()
+                .map(projetos::get)
+                .filter(Objects::nonNull)
+                .map(projetoMapper::toDTO)
+                .toList();
+    }
+}
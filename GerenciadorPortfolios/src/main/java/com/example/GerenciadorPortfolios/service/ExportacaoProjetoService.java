@@ -0,0 +1,132 @@
+package com.example.GerenciadorPortfolios.service;
+
+import com.example.GerenciadorPortfolios.dto.ProjetoDTO;
+import com.example.GerenciadorPortfolios.exception.ValidacaoException;
+import com.example.GerenciadorPortfolios.mapper.ProjetoMapper;
+import com.example.GerenciadorPortfolios.model.Projeto;
+import com.example.GerenciadorPortfolios.repository.ProjetoRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class ExportacaoProjetoService {
+    private final ProjetoRepository projetoRepository;
+    private final ProjetoMapper projetoMapper;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    private static final int TAMANHO_BLOCO = 500;
+
+    private static final String CABECALHO_CSV = "id,nome,dataInicio,previsaoTermino,dataRealTermino," +
+            "orcamentoTotal,descricao,status,classificacaoRisco,gerenteId,membrosIds";
+
+    public enum Formato {
+        NDJSON("application/x-ndjson"),
+        CSV("text/csv");
+
+        private final String contentType;
+
+        Formato(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public static Formato de(String valor) {
+            for (Formato formato : values()) {
+                if (formato.name().equalsIgnoreCase(valor)) {
+                    return formato;
+                }
+            }
+            throw new ValidacaoException("Formato de exportação inválido: " + valor + ". Use ndjson ou csv");
+        }
+    }
+
+    // Percorre o portfólio com um cursor e escreve cada linha direto na saída, sem acumular em memória
+    @Transactional(readOnly = true)
+    public void exportar(Formato formato, OutputStream saida) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        ObjectWriter jsonWriter = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        if (formato == Formato.CSV) {
+            writer.write(CABECALHO_CSV);
+            writer.write('\n');
+        }
+
+        try (Stream<Projeto> projetos = projetoRepository.streamTodos()) {
+            Iterator<Projeto> iterator = projetos.iterator();
+            List<Projeto> bloco = new ArrayList<>(TAMANHO_BLOCO);
+            while (iterator.hasNext()) {
+                bloco.add(iterator.next());
+                if (bloco.size() == TAMANHO_BLOCO || !iterator.hasNext()) {
+                    escreverBloco(bloco, formato, writer, jsonWriter);
+                    bloco.clear();
+                }
+            }
+        }
+        writer.flush();
+    }
+
+    // Os membros de cada bloco são carregados juntos, depois as entidades saem do contexto de persistência
+    private void escreverBloco(List<Projeto> bloco, Formato formato, Writer writer, ObjectWriter jsonWriter)
+            throws IOException {
+        projetoRepository.findComMembrosByIdIn(bloco.stream().map(Projeto::getId).toList());
+        for (Projeto projeto : bloco) {
+            ProjetoDTO projetoDTO = projetoMapper.toDTO(projeto);
+            entityManager.detach(projeto);
+
+            if (formato == Formato.CSV) {
+                escreverLinhaCsv(writer, projetoDTO);
+            } else {
+                jsonWriter.writeValue(writer, projetoDTO);
+            }
+            writer.write('\n');
+        }
+    }
+
+    private void escreverLinhaCsv(Writer writer, ProjetoDTO projetoDTO) throws IOException {
+        String membrosIds = projetoDTO.getMembrosIds() == null ? "" : projetoDTO.getMembrosIds().stream()
+                .sorted()
+                .map(String::valueOf)
+                .collect(Collectors.joining("|"));
+
+        writer.write(Stream.of(
+                        projetoDTO.getId(),
+                        projetoDTO.getNome(),
+                        projetoDTO.getDataInicio(),
+                        projetoDTO.getPrevisaoTermino(),
+                        projetoDTO.getDataRealTermino(),
+                        projetoDTO.getOrcamentoTotal() != null ? projetoDTO.getOrcamentoTotal().toPlainString() : null,
+                        projetoDTO.getDescricao(),
+                        projetoDTO.getStatus(),
+                        projetoDTO.getClassificacaoRisco(),
+                        projetoDTO.getGerenteId(),
+                        membrosIds)
+                .map(valor -> escaparCsv(Objects.toString(valor, "")))
+                .collect(Collectors.joining(",")));
+    }
+
+    private static String escaparCsv(String valor) {
+        if (valor.contains(",") || valor.contains("\"") || valor.contains("\n") || valor.contains("\r")) {
+            return "\"" + valor.replace("\"", "\"\"") + "\"";
+        }
+        return valor;
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.GerenciadorPortfolios.service;
+
+import com.example.GerenciadorPortfolios.config.EventosProjetoProperties;
+import com.example.GerenciadorPortfolios.dto.HistoricoPortfolioDTO;
+import com.example.GerenciadorPortfolios.dto.RelatorioPortfolioDTO;
+import com.example.GerenciadorPortfolios.event.EventoProjeto;
+import com.example.GerenciadorPortfolios.exception.ValidacaoException;
+import com.example.GerenciadorPortfolios.model.enums.GranularidadeHistorico;
+import com.example.GerenciadorPortfolios.model.enums.StatusProjeto;
+import com.example.GerenciadorPortfolios.repository.EventoProjetoRepository;
+import com.example.GerenciadorPortfolios.repository.HistoricoPortfolioRepository;
+import com.example.GerenciadorPortfolios.repository.HistoricoPortfolioRepository.Fechamento;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+// Série temporal do relatório: um fechamento diário por status, com as transições do dia contadas no outbox
+// eventos_projeto. Consultas por período leem só os fechamentos, sem varrer projetos.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HistoricoPortfolioService {
+    private final HistoricoPortfolioRepository historicoPortfolioRepository;
+    private final RelatorioPortfolioService relatorioPortfolioService;
+    private final EventoProjetoRepository eventoProjetoRepository;
+    private final EventosProjetoProperties eventosProjetoProperties;
+    private final PlatformTransactionManager transactionManager;
+
+    private static final int PERIODO_MAXIMO_ANOS = 5;
+
+    // Fecha o dia anterior logo após a meia-noite; na subida fecha também os dias perdidos com a aplicação parada,
+    // até onde o outbox ainda guarda os eventos necessários para reconstruí-los
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${portfolio.historico.fechamento-cron:0 5 0 * * *}")
+    public void fecharDiasPendentes() {
+        LocalDate ontem = LocalDate.now().minusDays(1);
+        LocalDate primeiro = historicoPortfolioRepository.ultimoDiaFechado()
+                .map(dia -> dia.plusDays(1))
+                .orElse(ontem);
+        // Primeiro dia com todas as transições e todos os eventos posteriores ainda no outbox
+        LocalDate limiteRetencao = LocalDateTime.now().minus(eventosProjetoProperties.retencao()).toLocalDate()
+                .plusDays(1);
+        if (primeiro.isBefore(limiteRetencao)) {
+            log.warn("Dias de {} a {} sem fechamento e fora da retenção do outbox: ficam fora do histórico",
+                    primeiro, limiteRetencao.minusDays(1));
+            primeiro = limiteRetencao;
+        }
+        if (primeiro.isAfter(ontem)) {
+            return;
+        }
+        try {
+            fecharDias(primeiro, ontem);
+        } catch (DuplicateKeyException e) {
+            log.info("Fechamento do histórico já gravado por outra instância");
+        }
+    }
+
+    public boolean fecharDia(LocalDate dia) {
+        return fecharDias(dia, dia) > 0;
+    }
+
+    // Cada fechamento é a fotografia da meia-noite seguinte ao dia, seja qual for a hora em que roda: agregado
+    // atual e outbox são lidos no mesmo snapshot e, do dia mais recente ao mais antigo, são desfeitos os eventos
+    // gravados depois daquela meia-noite. Dia já fechado não é regravado.
+    public int fecharDias(LocalDate primeiro, LocalDate ultimo) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        Integer fechados = transactionTemplate.execute(status -> {
+            long marca = eventoProjetoRepository.ultimoId();
+            RelatorioPortfolioService.Agregado agregado = relatorioPortfolioService.calcularAgregado(marca);
+            List<EventoProjeto> posteriores = eventoProjetoRepository.buscarDesde(
+                    primeiro.plusDays(1).atStartOfDay(), marca);
+
+            List<Fechamento> fechamentos = new ArrayList<>();
+            int dias = 0;
+            int proximo = 0;
+            for (LocalDate dia = ultimo; !dia.isBefore(primeiro); dia = dia.minusDays(1)) {
+                LocalDateTime meiaNoite = dia.plusDays(1).atStartOfDay();
+                for (; proximo < posteriores.size() && !posteriores.get(proximo).criadoEm().isBefore(meiaNoite);
+                     proximo++) {
+                    agregado.desfazer(posteriores.get(proximo));
+                }
+                if (!historicoPortfolioRepository.existeFechamento(dia)) {
+                    fechamentos.addAll(fechamentosDoDia(dia, agregado.toDTO()));
+                    dias++;
+                }
+            }
+            if (!fechamentos.isEmpty()) {
+                historicoPortfolioRepository.inserirFechamentos(fechamentos);
+            }
+            return dias;
+        });
+        return fechados != null ? fechados : 0;
+    }
+
+    private List<Fechamento> fechamentosDoDia(LocalDate dia, RelatorioPortfolioDTO relatorio) {
+        Map<StatusProjeto, Long> transicoes = historicoPortfolioRepository.contarTransicoes(
+                dia.atStartOfDay(), dia.plusDays(1).atStartOfDay());
+
+        Set<StatusProjeto> statusDoDia = EnumSet.noneOf(StatusProjeto.class);
+        statusDoDia.addAll(relatorio.getQuantidadeProjetosPorStatus().keySet());
+        statusDoDia.addAll(transicoes.keySet());
+        return statusDoDia.stream()
+                .map(statusProjeto -> new Fechamento(dia, statusProjeto,
+                        relatorio.getQuantidadeProjetosPorStatus().getOrDefault(statusProjeto, 0L),
+                        relatorio.getTotalOrcadoPorStatus().getOrDefault(statusProjeto, BigDecimal.ZERO),
+                        transicoes.getOrDefault(statusProjeto, 0L)))
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<HistoricoPortfolioDTO> consultar(LocalDate de, LocalDate ate, GranularidadeHistorico granularidade) {
+        if (de.isAfter(ate)) {
+            throw new ValidacaoException("Data inicial deve ser anterior ou igual à data final");
+        }
+        if (ate.isAfter(de.plusYears(PERIODO_MAXIMO_ANOS))) {
+            throw new ValidacaoException("Período máximo de consulta é de " + PERIODO_MAXIMO_ANOS + " anos");
+        }
+
+        // Fechamentos em ordem de dia: o estoque do período fica com o último dia, as transições acumulam
+        Map<LocalDate, HistoricoPortfolioDTO> periodos = new LinkedHashMap<>();
+        for (Fechamento fechamento : historicoPortfolioRepository.buscarFechamentos(de, ate)) {
+            LocalDate inicio = granularidade.inicio(fechamento.dia());
+            HistoricoPortfolioDTO periodo = periodos.computeIfAbsent(inicio, chave -> HistoricoPortfolioDTO.builder()
+                    .inicio(chave)
+                    .fim(granularidade.fim(chave))
+                    .quantidadeProjetosPorStatus(new EnumMap<>(StatusProjeto.class))
+                    .totalOrcadoPorStatus(new EnumMap<>(StatusProjeto.class))
+                    .transicoesPorStatus(new EnumMap<>(StatusProjeto.class))
+                    .build());
+            if (!fechamento.dia().equals(periodo.getUltimoDiaFechado())) {
+                periodo.setUltimoDiaFechado(fechamento.dia());
+                periodo.getQuantidadeProjetosPorStatus().clear();
+                periodo.getTotalOrcadoPorStatus().clear();
+            }
+            if (fechamento.quantidade() > 0) {
+                periodo.getQuantidadeProjetosPorStatus().put(fechamento.status(), fechamento.quantidade());
+                periodo.getTotalOrcadoPorStatus().put(fechamento.status(), fechamento.orcamentoTotal());
+            }
+            if (fechamento.transicoes() > 0) {
+                periodo.getTransicoesPorStatus().merge(fechamento.status(), fechamento.transicoes(), Long::sum);
+            }
+        }
+        return new ArrayList<>(periodos.values());
+    }
+}
@@ -1,29 +1,71 @@
 package com.example.GerenciadorPortfolios.service;
 
+import com.example.GerenciadorPortfolios.client.MembroExternoCache;
+import com.example.GerenciadorPortfolios.client.MembroExternoClient;
+import com.example.GerenciadorPortfolios.config.CacheConfig;
 import com.example.GerenciadorPortfolios.dto.MembroDTO;
+import com.example.GerenciadorPortfolios.exception.RecursoNaoEncontradoException;
 import com.example.GerenciadorPortfolios.model.Membro;
 import com.example.GerenciadorPortfolios.repository.MembroRepository;
 import lombok.RequiredArgsConstructor;
 import org.springdoc.api.OpenApiResourceNotFoundException;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
-import java.util.UUID;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
 public class MembroService {
     private final MembroRepository membroRepository;
-    private final RestTemplate restTemplate;
-
-    // URL da API externa mockada (em um cenário real, seria configurável)
-    private static final String API_MEMBROS_URL = "https://api.mocki.io/v2/123456/membros";
+    private final MembroExternoClient membroExternoClient;
+    private final MembroExternoCache membroExternoCache;
+    private final CacheManager cacheManager;
 
+    @Cacheable(cacheNames = CacheConfig.MEMBROS, key = "#id")
     public Membro buscarMembroPorId(Long id) {
         return membroRepository.findById(id)
                 .orElseThrow(() -> new OpenApiResourceNotFoundException("Membro não encontrado com ID: " + id));
     }
 
+    @Cacheable(cacheNames = CacheConfig.MEMBROS_POR_IDENTIFICADOR, key = "#identificadorExterno")
+    public Optional<Membro> buscarMembroPorIdentificadorExterno(String identificadorExterno) {
+        return membroRepository.findByIdentificadorExterno(identificadorExterno);
+    }
+
+    // Consulta o cache por id e busca apenas os ausentes no banco, em uma única consulta
+    public List<Membro> buscarMembrosPorIds(Set<Long> ids) {
+        Cache cache = cacheManager.getCache(CacheConfig.MEMBROS);
+        List<Membro> membros = new ArrayList<>(ids.size());
+        Set<Long> ausentes = new HashSet<>();
+        for (Long id : ids) {
+            Membro membro = cache != null ? cache.get(id, Membro.class) : null;
+            if (membro != null) {
+                membros.add(membro);
+            } else {
+                ausentes.add(id);
+            }
+        }
+
+        if (!ausentes.isEmpty()) {
+            for (Membro membro : membroRepository.findAllByIdIn(ausentes)) {
+                if (cache != null) {
+                    cache.put(membro.getId(), membro);
+                }
+                membros.add(membro);
+            }
+        }
+        return membros;
+    }
+
+    @Caching(put = {
+            @CachePut(cacheNames = CacheConfig.MEMBROS, key = "#result.id"),
+            @CachePut(cacheNames = CacheConfig.MEMBROS_POR_IDENTIFICADOR, key = "#result.identificadorExterno")
+    })
     public Membro criarMembro(MembroDTO membroDTO) {
         // Primeiro cria na API externa
         MembroDTO membroCriadoExterno = criarMembroExterno(membroDTO);
@@ -39,24 +81,12 @@ public class MembroService {
     }
 
     private MembroDTO criarMembroExterno(MembroDTO membroDTO) {
-        // Simula a chamada para API externa
-
-        // Mock da resposta
-        return MembroDTO.builder()
-                .nome(membroDTO.getNome())
-                .atribuicao(membroDTO.getAtribuicao())
-                .identificadorExterno(UUID.randomUUID().toString())
-                .build();
+        return membroExternoClient.criar(membroDTO);
     }
 
     public MembroDTO consultarMembroExterno(String identificadorExterno) {
-        // Simula a consulta na API externa
-
-        // Mock da resposta
-        return MembroDTO.builder()
-                .nome("Membro Mock")
-                .atribuicao("funcionario")
-                .identificadorExterno(identificadorExterno)
-                .build();
+        return membroExternoCache.consultar(identificadorExterno)
+                .orElseThrow(() -> new RecursoNaoEncontradoException(
+                        "Membro externo não encontrado: " + identificadorExterno));
     }
-}
\ No newline at end of file
+}
@@ -1,7 +1,14 @@
 package com.example.GerenciadorPortfolios.service;
 
+import com.example.GerenciadorPortfolios.dto.ErroImportacaoDTO;
+import com.example.GerenciadorPortfolios.dto.FiltroProjetoDTO;
+import com.example.GerenciadorPortfolios.dto.JanelaProjetosDTO;
 import com.example.GerenciadorPortfolios.dto.ProjetoDTO;
 import com.example.GerenciadorPortfolios.dto.RelatorioPortfolioDTO;
+import com.example.GerenciadorPortfolios.dto.ResultadoImportacaoDTO;
+import com.example.GerenciadorPortfolios.event.ProjetoAlteradoEvent;
+import com.example.GerenciadorPortfolios.event.ProjetoSnapshot;
+import com.example.GerenciadorPortfolios.exception.ConflitoVersaoException;
 import com.example.GerenciadorPortfolios.exception.OperacaoNaoPermitidaException;
 import com.example.GerenciadorPortfolios.exception.RecursoNaoEncontradoException;
 import com.example.GerenciadorPortfolios.exception.TransicaoStatusInvalidaException;
@@ -10,19 +17,27 @@ import com.example.GerenciadorPortfolios.mapper.ProjetoMapper;
 import com.example.GerenciadorPortfolios.model.Membro;
 import com.example.GerenciadorPortfolios.model.Projeto;
 import com.example.GerenciadorPortfolios.model.enums.StatusProjeto;
+import com.example.GerenciadorPortfolios.repository.EventoProjetoRepository;
+import com.example.GerenciadorPortfolios.repository.MembroAlocacaoRepository;
+import com.example.GerenciadorPortfolios.repository.ProjetoLoteRepository;
 import com.example.GerenciadorPortfolios.repository.ProjetoRepository;
+import com.example.GerenciadorPortfolios.repository.ProjetoSpecifications;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
-import lombok.SneakyThrows;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springdoc.api.OpenApiResourceNotFoundException;
+import org.springframework.data.domain.*;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -30,27 +45,86 @@ public class ProjetoService {
     private final ProjetoRepository projetoRepository;
     private final MembroService membroService;
     private final ProjetoMapper projetoMapper;
+    private final ProjetoLoteRepository projetoLoteRepository;
+    private final MembroAlocacaoRepository membroAlocacaoRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final Validator validator;
+    private final RelatorioPortfolioService relatorioPortfolioService;
+    private final EventoProjetoRepository eventoProjetoRepository;
+    private final ValidadorTransicaoStatus validadorTransicaoStatus;
+
+    private static final int TAMANHO_LOTE_IMPORTACAO = 500;
+    private static final int LIMITE_PROJETOS_ATIVOS = 3;
+    private static final int TAMANHO_MAXIMO_JANELA = 100;
+    private static final Set<String> CHAVES_CURSOR = Set.of("id", "nome");
 
     @Transactional(readOnly = true)
-    public Page<ProjetoDTO> listarTodos(String nome, Pageable pageable) {
-        Page<Projeto> projetos = nome != null ?
-                projetoRepository.findByNomeContainingIgnoreCase(nome, pageable) :
-                projetoRepository.findAll(pageable);
+    public Page<ProjetoDTO> listarTodos(FiltroProjetoDTO filtro, Pageable pageable) {
+        Page<Projeto> projetos = projetoRepository.findAll(ProjetoSpecifications.comFiltro(filtro), pageable);
+        carregarMembros(projetos.getContent());
         return projetos.map(projetoMapper::toDTO);
     }
 
+    // Mesmo filtro sem a consulta de contagem: busca uma linha a mais só para saber se há próxima página
+    @Transactional(readOnly = true)
+    public Slice<ProjetoDTO> listarFatia(FiltroProjetoDTO filtro, Pageable pageable) {
+        Sort sort = pageable.getSort().getOrderFor("id") != null ? pageable.getSort() : pageable.getSort().and(Sort.by("id"));
+        ScrollPosition posicao = pageable.getOffset() == 0 ?
+                ScrollPosition.offset() : ScrollPosition.offset(pageable.getOffset() - 1);
+        Window<Projeto> janela = projetoRepository.findBy(ProjetoSpecifications.comFiltro(filtro),
+                consulta -> consulta.sortBy(sort).limit(pageable.getPageSize()).scroll(posicao));
+        carregarMembros(janela.getContent());
+        return new SliceImpl<>(janela.map(projetoMapper::toDTO).getContent(), pageable, janela.hasNext());
+    }
+
+    // Listagem por cursor (keyset): ordena por (chave, id) e devolve o cursor da próxima janela
+    @Transactional(readOnly = true)
+    public JanelaProjetosDTO listarPorCursor(String nome, String cursor, String ordenacao, int tamanho) {
+        String chave = ordenacao != null ? ordenacao : "id";
+        ScrollPosition posicao = ScrollPosition.keyset();
+        if (cursor != null && !cursor.isBlank()) {
+            String[] partes = decodificarCursor(cursor);
+            chave = partes[0];
+            posicao = ScrollPosition.forward(chave.equals("id") ?
+                    Map.of("id", Long.valueOf(partes[1])) :
+                    Map.of(chave, partes[2], "id", Long.valueOf(partes[1])));
+        }
+        if (!CHAVES_CURSOR.contains(chave)) {
+            throw new ValidacaoException("Ordenação por cursor suportada apenas por: " + CHAVES_CURSOR);
+        }
+
+        Sort sort = chave.equals("id") ? Sort.by("id") : Sort.by(chave).and(Sort.by("id"));
+        Limit limite = Limit.of(Math.max(1, Math.min(tamanho, TAMANHO_MAXIMO_JANELA)));
+        Window<Projeto> janela = nome != null ?
+                projetoRepository.findByNomeContainingIgnoreCase(nome, posicao, sort, limite) :
+                projetoRepository.findBy(posicao, sort, limite);
+
+        carregarMembros(janela.getContent());
+
+        String proximoCursor = null;
+        if (janela.hasNext() && !janela.isEmpty()) {
+            Projeto ultimo = janela.getContent().get(janela.size() - 1);
+            proximoCursor = codificarCursor(chave, ultimo);
+        }
+
+        return JanelaProjetosDTO.builder()
+                .conteudo(janela.map(projetoMapper::toDTO).getContent())
+                .tamanho(janela.size())
+                .temProximo(janela.hasNext())
+                .proximoCursor(proximoCursor)
+                .build();
+    }
+
     @Transactional(readOnly = true)
-    @SneakyThrows({RecursoNaoEncontradoException.class})
     public ProjetoDTO buscarPorId(Long id){
-        Projeto projeto = projetoRepository.findById(id)
+        Projeto projeto = projetoRepository.findComMembrosById(id)
                 .orElseThrow(() -> new RecursoNaoEncontradoException("Projeto não encontrado com ID: " + id));
         return projetoMapper.toDTO(projeto);
     }
 
     @Transactional
-    @SneakyThrows
     public ProjetoDTO criar(ProjetoDTO projetoDTO) {
-        validarTransicaoStatus(null, projetoDTO.getStatus());
+        validadorTransicaoStatus.validar(null, projetoDTO.getStatus());
 
         Projeto projeto = projetoMapper.toEntity(projetoDTO);
         projeto.setStatus(StatusProjeto.EM_ANALISE);
@@ -60,49 +134,56 @@ public class ProjetoService {
         projeto.setGerente(gerente);
 
         if (projetoDTO.getMembrosIds() != null && !projetoDTO.getMembrosIds().isEmpty()) {
-            Set<Membro> membros = projetoDTO.getMembrosIds().stream()
-                    .map(membroService::buscarMembroPorId)
-                    .peek(this::validarMembro)
-                    .collect(Collectors.toSet());
-            projeto.setMembros(membros);
+            projeto.setMembros(buscarMembrosValidados(projetoDTO.getMembrosIds(), projetoDTO.getMembrosIds()));
         }
 
         Projeto projetoSalvo = projetoRepository.save(projeto);
+        eventoProjetoRepository.registrar(new ProjetoAlteradoEvent(null, ProjetoSnapshot.de(projetoSalvo)));
         return projetoMapper.toDTO(projetoSalvo);
     }
 
     @Transactional
-    @SneakyThrows
-    public ProjetoDTO atualizar(Long id, ProjetoDTO projetoDTO)  {
+    public ProjetoDTO atualizar(Long id, ProjetoDTO projetoDTO, Long versaoEsperada)  {
         Projeto projetoExistente = projetoRepository.findById(id)
                 .orElseThrow(() -> new RecursoNaoEncontradoException("Projeto não encontrado com ID: " + id));
 
+        validarVersao(id, versaoEsperada, projetoExistente.getVersao());
         validarEdicaoProjeto(projetoExistente);
-        validarTransicaoStatus(projetoExistente.getStatus(), projetoDTO.getStatus());
-
-        projetoMapper.toEntity(projetoDTO, projetoExistente);
+        validadorTransicaoStatus.validar(projetoExistente.getStatus(), projetoDTO.getStatus());
+        ProjetoSnapshot anterior = ProjetoSnapshot.de(projetoExistente);
 
+        // Consultas antes de alterar a entidade: um auto-flush no meio da edição gravaria o projeto duas vezes
+        // (e incrementaria a versão duas vezes)
+        Membro gerente = null;
         if (projetoDTO.getGerenteId() != null) {
-            Membro gerente = membroService.buscarMembroPorId(projetoDTO.getGerenteId());
+            gerente = membroService.buscarMembroPorId(projetoDTO.getGerenteId());
             validarGerente(gerente);
-            projetoExistente.setGerente(gerente);
         }
+        // Só quem entra no projeto reserva vaga; quem sai (ou todos, se o projeto for encerrado) libera a sua
+        Set<Long> alocadosAntes = idsDe(projetoExistente.getMembros());
+        Set<Long> alocadosDepois = !projetoDTO.getStatus().isAtivo() ? Set.of() :
+                projetoDTO.getMembrosIds() != null ? projetoDTO.getMembrosIds() : alocadosAntes;
+        Set<Membro> membros = projetoDTO.getMembrosIds() != null
+                ? buscarMembrosValidados(projetoDTO.getMembrosIds(), diferenca(alocadosDepois, alocadosAntes))
+                : null;
+        membroAlocacaoRepository.liberar(diferenca(alocadosAntes, alocadosDepois));
 
-        if (projetoDTO.getMembrosIds() != null) {
-            Set<Membro> membros = projetoDTO.getMembrosIds().stream()
-                    .map(membroService::buscarMembroPorId)
-                    .peek(this::validarMembro)
-                    .collect(Collectors.toSet());
+        projetoMapper.toEntity(projetoDTO, projetoExistente);
+        if (gerente != null) {
+            projetoExistente.setGerente(gerente);
+        }
+        if (membros != null) {
             projetoExistente.setMembros(membros);
         }
 
-        Projeto projetoAtualizado = projetoRepository.save(projetoExistente);
+        // Flush imediato para a resposta já levar a versão incrementada
+        Projeto projetoAtualizado = projetoRepository.saveAndFlush(projetoExistente);
+        eventoProjetoRepository.registrar(new ProjetoAlteradoEvent(anterior, ProjetoSnapshot.de(projetoAtualizado)));
         return projetoMapper.toDTO(projetoAtualizado);
     }
 
 
     @Transactional
-    @SneakyThrows
     public void excluir(Long id) {
         Projeto projeto = projetoRepository.findById(id)
                 .orElseThrow(() -> new RecursoNaoEncontradoException("Projeto não encontrado com ID: " + id));
@@ -112,73 +193,233 @@ public class ProjetoService {
             throw new OperacaoNaoPermitidaException("Não é possível excluir projetos com status " + projeto.getStatus().getDescricao());
         }
 
+        ProjetoSnapshot anterior = ProjetoSnapshot.de(projeto);
+        if (projeto.getStatus().isAtivo()) {
+            membroAlocacaoRepository.liberarPorProjeto(id);
+        }
         projetoRepository.delete(projeto);
+        eventoProjetoRepository.registrar(new ProjetoAlteradoEvent(anterior, null));
     }
 
+    // Compare-and-set: um único UPDATE condicionado ao status anterior exigido pela sequência (e à versão do
+    // If-Match). Só quando nada é gravado o status atual é lido, para explicar a rejeição sem carregar o projeto.
     @Transactional
-    @SneakyThrows
-    public ProjetoDTO atualizarStatus(Long id, StatusProjeto novoStatus) {
-        Projeto projeto = projetoRepository.findById(id)
-                .orElseThrow(() -> new RecursoNaoEncontradoException("Projeto não encontrado com ID: " + id));
+    public ProjetoDTO atualizarStatus(Long id, StatusProjeto novoStatus, Long versaoEsperada) {
+        StatusProjeto statusEsperado = statusAnterior(novoStatus);
+        if (statusEsperado == null) {
+            // Cancelamento vale a partir de qualquer status: condiciona ao status lido agora
+            ProjetoRepository.EstadoProjeto estado = buscarEstado(id);
+            validadorTransicaoStatus.validar(estado.getStatus(), novoStatus);
+            statusEsperado = estado.getStatus();
+        }
 
-        validarTransicaoStatus(projeto.getStatus(), novoStatus);
+        int atualizados = projetoRepository.atualizarStatusSeIgual(id, statusEsperado, novoStatus, versaoEsperada);
+        if (atualizados == 0) {
+            ProjetoRepository.EstadoProjeto estado = buscarEstado(id);
+            validarVersao(id, versaoEsperada, estado.getVersao());
+            validadorTransicaoStatus.validar(estado.getStatus(), novoStatus);
+            // Transição válida agora, mas o status mudou entre o UPDATE e a leitura
+            throw new ObjectOptimisticLockingFailureException(Projeto.class, id);
+        }
+        if (statusEsperado.isAtivo() && !novoStatus.isAtivo()) {
+            membroAlocacaoRepository.liberarPorProjeto(id);
+        }
 
-        projeto.setStatus(novoStatus);
+        Projeto projeto = projetoRepository.findComMembrosById(id).orElseThrow();
+        ProjetoSnapshot atual = ProjetoSnapshot.de(projeto);
+        eventoProjetoRepository.registrar(new ProjetoAlteradoEvent(atual.comStatus(statusEsperado), atual));
+        return projetoMapper.toDTO(projeto);
+    }
 
-        if (novoStatus == StatusProjeto.ENCERRADO) {
-            projeto.setDataRealTermino(LocalDate.now());
+    // Importação em massa: valida tudo em memória contra os membros pré-carregados e grava em lotes JDBC,
+    // cada lote na sua própria transação
+    public ResultadoImportacaoDTO importarEmLote(List<ProjetoDTO> projetosDTO) {
+        Set<Long> idsReferenciados = projetosDTO.stream()
+                .flatMap(dto -> Stream.concat(
+                        Stream.ofNullable(dto.getGerenteId()),
+                        dto.getMembrosIds() != null ? dto.getMembrosIds().stream() : Stream.empty()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        Map<Long, Membro> membrosPorId = idsReferenciados.isEmpty() ? Map.of() :
+                membroService.buscarMembrosPorIds(idsReferenciados).stream()
+                        .collect(Collectors.toMap(Membro::getId, Function.identity()));
+        Map<Long, Long> projetosAtivosPorMembro = membroAlocacaoRepository.contarProjetosAtivos(membrosPorId.keySet());
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        List<ErroImportacaoDTO> erros = new ArrayList<>();
+        List<Long> idsImportados = new ArrayList<>();
+        List<Projeto> lote = new ArrayList<>();
+        List<Integer> indicesLote = new ArrayList<>();
+
+        for (int i = 0; i < projetosDTO.size(); i++) {
+            ProjetoDTO projetoDTO = projetosDTO.get(i);
+            List<String> violacoes = validarImportacao(projetoDTO, membrosPorId, projetosAtivosPorMembro);
+            if (!violacoes.isEmpty()) {
+                erros.add(ErroImportacaoDTO.builder()
+                        .indice(i)
+                        .nome(projetoDTO.getNome())
+                        .mensagem(String.join("; ", violacoes))
+                        .build());
+                continue;
+            }
+
+            Projeto projeto = projetoMapper.toEntity(projetoDTO);
+            projeto.setStatus(StatusProjeto.EM_ANALISE);
+            projeto.setGerente(membrosPorId.get(projetoDTO.getGerenteId()));
+            Set<Long> membrosIds = projetoDTO.getMembrosIds() != null ? projetoDTO.getMembrosIds() : Set.of();
+            projeto.setMembros(membrosIds.stream()
+                    .map(membrosPorId::get)
+                    .collect(Collectors.toSet()));
+            membrosIds.forEach(id -> projetosAtivosPorMembro.merge(id, 1L, Long::sum));
+
+            lote.add(projeto);
+            indicesLote.add(i);
+            if (lote.size() == TAMANHO_LOTE_IMPORTACAO) {
+                gravarLote(transactionTemplate, lote, indicesLote, projetosAtivosPorMembro, idsImportados, erros);
+                lote.clear();
+                indicesLote.clear();
+            }
+        }
+        if (!lote.isEmpty()) {
+            gravarLote(transactionTemplate, lote, indicesLote, projetosAtivosPorMembro, idsImportados, erros);
         }
 
-        Projeto projetoAtualizado = projetoRepository.save(projeto);
-        return projetoMapper.toDTO(projetoAtualizado);
+        erros.sort(Comparator.comparingInt(ErroImportacaoDTO::getIndice));
+        return ResultadoImportacaoDTO.builder()
+                .totalRecebidos(projetosDTO.size())
+                .totalImportados(idsImportados.size())
+                .idsImportados(idsImportados)
+                .erros(erros)
+                .build();
     }
 
-    @Transactional(readOnly = true)
     public RelatorioPortfolioDTO gerarRelatorioPortfolio() {
-        Map<StatusProjeto, Long> quantidadePorStatus = projetoRepository.countProjetosByStatus().stream()
-                .collect(Collectors.toMap(
-                        map -> StatusProjeto.valueOf((String) map.get("status")),
-                        map -> (Long) map.get("quantidade")
-                ));
-
-        Map<StatusProjeto, BigDecimal> totalOrcadoPorStatus = projetoRepository.sumOrcamentoByStatus().stream()
-                .collect(Collectors.toMap(
-                        map -> StatusProjeto.valueOf((String) map.get("status")),
-                        map -> (BigDecimal) map.get("total")
-                ));
-
-        Double mediaDuracao = projetoRepository.calcularMediaDuracaoProjetosEncerrados();
-        Long totalMembrosUnicos = projetoRepository.countMembrosUnicosAlocados();
-
-        return RelatorioPortfolioDTO.builder()
-                .quantidadeProjetosPorStatus(quantidadePorStatus)
-                .totalOrcadoPorStatus(totalOrcadoPorStatus)
-                .mediaDuracaoProjetosEncerrados(mediaDuracao)
-                .totalMembrosUnicosAlocados(totalMembrosUnicos)
-                .build();
+        return relatorioPortfolioService.obterRelatorio();
     }
-    @SneakyThrows
-    private void validarTransicaoStatus(StatusProjeto statusAtual, StatusProjeto novoStatus) {
-        if (novoStatus == null) {
-            throw new ValidacaoException("Status do projeto é obrigatório");
+
+    private List<String> validarImportacao(ProjetoDTO projetoDTO, Map<Long, Membro> membrosPorId,
+                                           Map<Long, Long> projetosAtivosPorMembro) {
+        List<String> violacoes = validator.validate(projetoDTO).stream()
+                .map(violacao -> violacao.getPropertyPath() + ": " + violacao.getMessage())
+                .sorted()
+                .collect(Collectors.toCollection(ArrayList::new));
+
+        try {
+            validadorTransicaoStatus.validar(null, projetoDTO.getStatus());
+        } catch (ValidacaoException | TransicaoStatusInvalidaException e) {
+            violacoes.add(e.getMessage());
         }
 
-        if (statusAtual == null && novoStatus != StatusProjeto.EM_ANALISE) {
-            throw new TransicaoStatusInvalidaException("Novos projetos devem iniciar com status 'Em Análise'");
+        if (projetoDTO.getGerenteId() != null) {
+            Membro gerente = membrosPorId.get(projetoDTO.getGerenteId());
+            if (gerente == null) {
+                violacoes.add("Membro não encontrado com ID: " + projetoDTO.getGerenteId());
+            } else {
+                try {
+                    validarGerente(gerente);
+                } catch (ValidacaoException e) {
+                    violacoes.add(e.getMessage());
+                }
+            }
         }
 
-        if (statusAtual != null && novoStatus == StatusProjeto.CANCELADO) {
-            return; // Cancelamento é sempre permitido
+        if (projetoDTO.getMembrosIds() == null) {
+            return violacoes;
         }
+        for (Long membroId : projetoDTO.getMembrosIds()) {
+            Membro membro = membrosPorId.get(membroId);
+            if (membro == null) {
+                violacoes.add("Membro não encontrado com ID: " + membroId);
+            } else {
+                validarMembro(membro, projetosAtivosPorMembro.getOrDefault(membroId, 0L), violacoes);
+            }
+        }
+        return violacoes;
+    }
+
+    private void gravarLote(TransactionTemplate transactionTemplate, List<Projeto> lote, List<Integer> indicesLote,
+                            Map<Long, Long> projetosAtivosPorMembro, List<Long> idsImportados,
+                            List<ErroImportacaoDTO> erros) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                projetoLoteRepository.inserir(lote);
+                // A validação em memória parte do contador lido no início; a reserva confirma contra o valor atual
+                Map<Long, Long> vagasPorMembro = lote.stream()
+                        .flatMap(projeto -> projeto.getMembros().stream())
+                        .collect(Collectors.groupingBy(Membro::getId, Collectors.counting()));
+                List<Long> semVaga = membroAlocacaoRepository.reservar(vagasPorMembro, LIMITE_PROJETOS_ATIVOS);
+                if (!semVaga.isEmpty()) {
+                    throw new IllegalStateException("Limite de projetos ativos atingido pelos membros " + semVaga);
+                }
+                eventoProjetoRepository.registrar(lote.stream()
+                        .map(projeto -> new ProjetoAlteradoEvent(null, ProjetoSnapshot.de(projeto)))
+                        .toList());
+            });
+            lote.forEach(projeto -> idsImportados.add(projeto.getId()));
+        } catch (RuntimeException e) {
+            for (int i = 0; i < lote.size(); i++) {
+                Projeto projeto = lote.get(i);
+                projeto.getMembros().forEach(membro ->
+                        projetosAtivosPorMembro.merge(membro.getId(), -1L, Long::sum));
+                erros.add(ErroImportacaoDTO.builder()
+                        .indice(indicesLote.get(i))
+                        .nome(projeto.getNome())
+                        .mensagem("Falha ao gravar o lote: " + e.getMessage())
+                        .build());
+            }
+        }
+    }
+
+    // Busca os membros de todos os projetos da página de uma vez, evitando uma consulta por projeto no mapeamento
+    private void carregarMembros(List<Projeto> projetos) {
+        if (!projetos.isEmpty()) {
+            projetoRepository.findComMembrosByIdIn(projetos.stream().map(Projeto::getId).toList());
+        }
+    }
+
+    // Cursor opaco: "chave\nid\nvalor" em Base64 URL-safe
+    private static String codificarCursor(String chave, Projeto ultimo) {
+        String valor = chave.equals("nome") ? ultimo.getNome() : "";
+        String cursor = chave + "\n" + ultimo.getId() + "\n" + valor;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
 
-        if (statusAtual != null && novoStatus.ordinal() != statusAtual.ordinal() + 1) {
-            throw new TransicaoStatusInvalidaException(
-                    String.format("Transição de status inválida: %s → %s. Deve seguir a sequência correta.",
-                            statusAtual.getDescricao(), novoStatus.getDescricao()));
+    private static String[] decodificarCursor(String cursor) {
+        try {
+            String[] partes = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\n", 3);
+            if (partes.length != 3) {
+                throw new IllegalArgumentException();
+            }
+            Long.parseLong(partes[1]);
+            return partes;
+        } catch (IllegalArgumentException e) {
+            throw new ValidacaoException("Cursor inválido");
         }
     }
 
-    private void validarEdicaoProjeto(Projeto projeto) throws OperacaoNaoPermitidaException {
+    // Único status a partir do qual a transição é válida; nulo quando depende do status atual (cancelamento)
+    // ou quando não há antecessor
+    private static StatusProjeto statusAnterior(StatusProjeto novoStatus) {
+        if (novoStatus == null || novoStatus == StatusProjeto.CANCELADO || novoStatus.ordinal() == 0) {
+            return null;
+        }
+        return StatusProjeto.values()[novoStatus.ordinal() - 1];
+    }
+
+    private ProjetoRepository.EstadoProjeto buscarEstado(Long id) {
+        return projetoRepository.findEstadoById(id)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Projeto não encontrado com ID: " + id));
+    }
+
+    private static void validarVersao(Long id, Long versaoEsperada, Long versaoAtual) {
+        if (versaoEsperada != null && !versaoEsperada.equals(versaoAtual)) {
+            throw new ConflitoVersaoException(String.format(
+                    "Versão %d do projeto %d não é a atual (%d)", versaoEsperada, id, versaoAtual));
+        }
+    }
+
+    private void validarEdicaoProjeto(Projeto projeto) {
         if (projeto.getStatus() == StatusProjeto.ENCERRADO ||
                 projeto.getStatus() == StatusProjeto.CANCELADO) {
             throw new OperacaoNaoPermitidaException(
@@ -186,22 +427,70 @@ public class ProjetoService {
         }
     }
 
-    private void validarGerente(Membro membro) throws ValidacaoException {
+    private void validarGerente(Membro membro) {
         if (!"gerente".equalsIgnoreCase(membro.getAtribuicao())) {
             throw new ValidacaoException("O gerente do projeto deve ter a atribuição 'Gerente'");
         }
     }
-    @SneakyThrows
-    private void validarMembro(Membro membro) {
+    // Carrega todos os membros de uma vez e valida em lote, reportando todas as violações juntas. Os membros em
+    // "reservar" ocupam uma vaga no limite de projetos ativos; se algum já estiver no limite a exceção desfaz
+    // as reservas junto com a transação.
+    private Set<Membro> buscarMembrosValidados(Set<Long> membrosIds, Set<Long> reservar) {
+        if (membrosIds.isEmpty()) {
+            return new HashSet<>();
+        }
+
+        Map<Long, Membro> membrosPorId = membroService.buscarMembrosPorIds(membrosIds).stream()
+                .collect(Collectors.toMap(Membro::getId, Function.identity()));
+
+        List<String> naoEncontrados = membrosIds.stream()
+                .filter(id -> !membrosPorId.containsKey(id))
+                .map(id -> "Membro não encontrado com ID: " + id)
+                .toList();
+
+        List<String> violacoes = new ArrayList<>(naoEncontrados);
+        membrosPorId.values().forEach(membro -> validarAtribuicaoMembro(membro, violacoes));
+
+        if (!naoEncontrados.isEmpty()) {
+            throw new OpenApiResourceNotFoundException(String.join("; ", violacoes));
+        }
+
+        List<Long> semVaga = membroAlocacaoRepository.reservar(
+                reservar.stream().filter(membrosPorId::containsKey).toList(), LIMITE_PROJETOS_ATIVOS);
+        semVaga.forEach(id -> violacoes.add(String.format(
+                "Membro %s já está alocado em %d projetos ativos. Limite máximo é %d.",
+                membrosPorId.get(id).getNome(), LIMITE_PROJETOS_ATIVOS, LIMITE_PROJETOS_ATIVOS)));
+
+        if (!violacoes.isEmpty()) {
+            throw new RuntimeException(String.join("; ", violacoes));
+        }
+        return new HashSet<>(membrosPorId.values());
+    }
+
+    private static Set<Long> idsDe(Set<Membro> membros) {
+        return membros.stream().map(Membro::getId).collect(Collectors.toSet());
+    }
+
+    private static Set<Long> diferenca(Set<Long> ids, Set<Long> remover) {
+        Set<Long> resultado = new HashSet<>(ids);
+        resultado.removeAll(remover);
+        return resultado;
+    }
+
+    private boolean validarAtribuicaoMembro(Membro membro, List<String> violacoes) {
         if (!"funcionario".equalsIgnoreCase(membro.getAtribuicao())) {
-            throw new RuntimeException("Apenas membros com atribuição 'Funcionário' podem ser associados a projetos");
+            violacoes.add(String.format(
+                    "Apenas membros com atribuição 'Funcionário' podem ser associados a projetos (membro %s)",
+                    membro.getNome()));
+            return false;
         }
+        return true;
+    }
 
-        Long projetosAtivos = projetoRepository.countProjetosAtivosPorMembro(membro.getId());
-        if (projetosAtivos >= 3) {
-            throw new RuntimeException(
-                    String.format("Membro %s já está alocado em %d projetos ativos. Limite máximo é 3.",
-                            membro.getNome(), projetosAtivos));
+    private void validarMembro(Membro membro, long projetosAtivos, List<String> violacoes) {
+        if (validarAtribuicaoMembro(membro, violacoes) && projetosAtivos >= LIMITE_PROJETOS_ATIVOS) {
+            violacoes.add(String.format("Membro %s já está alocado em %d projetos ativos. Limite máximo é %d.",
+                    membro.getNome(), projetosAtivos, LIMITE_PROJETOS_ATIVOS));
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,243 @@
+package com.example.GerenciadorPortfolios.service;
+
+import com.example.GerenciadorPortfolios.config.EventosProjetoProperties;
+import com.example.GerenciadorPortfolios.dto.RelatorioPortfolioDTO;
+import com.example.GerenciadorPortfolios.event.EventoProjeto;
+import com.example.GerenciadorPortfolios.event.EventosProjetoDespachados;
+import com.example.GerenciadorPortfolios.event.ProjetoSnapshot;
+import com.example.GerenciadorPortfolios.model.enums.ClassificacaoRisco;
+import com.example.GerenciadorPortfolios.model.enums.StatusProjeto;
+import com.example.GerenciadorPortfolios.repository.EventoProjetoRepository;
+import com.example.GerenciadorPortfolios.repository.ProjetoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Mantém o relatório do portfólio em memória: cada alteração entregue pelo outbox aplica um delta
+// e um recálculo periódico completo corrige qualquer desvio. O agregado guarda o último id do outbox
+// já refletido nele e os ids abaixo dessa marca que ainda não estavam confirmados no snapshot, de modo
+// que nenhum evento é perdido nem aplicado duas vezes na troca.
+@Service
+@RequiredArgsConstructor
+public class RelatorioPortfolioService {
+    private final ProjetoRepository projetoRepository;
+    private final EventoProjetoRepository eventoProjetoRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final EventosProjetoProperties eventosProjetoProperties;
+
+    // Locks explícitos em vez de synchronized: o recálculo faz JDBC e, com virtual threads, um monitor prenderia a carrier
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ReentrantLock recalculo = new ReentrantLock();
+    private Agregado agregado;
+    // Eventos entregues enquanto um recálculo está em andamento; os posteriores à marca do novo agregado
+    // são reaplicados nele na troca
+    private List<EventoProjeto> entreguesDuranteRecalculo;
+
+    public RelatorioPortfolioDTO obterRelatorio() {
+        lock.lock();
+        try {
+            if (agregado != null) {
+                return agregado.toDTO();
+            }
+        } finally {
+            lock.unlock();
+        }
+        recalcular();
+        lock.lock();
+        try {
+            return agregado.toDTO();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Um lote do outbox aplicado sob uma única aquisição do lock
+    @EventListener
+    public void aoDespacharEventos(EventosProjetoDespachados despachados) {
+        lock.lock();
+        try {
+            for (EventoProjeto evento : despachados.eventos()) {
+                if (entreguesDuranteRecalculo != null) {
+                    entreguesDuranteRecalculo.add(evento);
+                }
+                if (agregado != null) {
+                    agregado.aplicar(evento);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${portfolio.relatorio.recalculo-ms:300000}",
+            fixedDelayString = "${portfolio.relatorio.recalculo-ms:300000}")
+    public void recalcular() {
+        recalculo.lock();
+        try {
+            lock.lock();
+            try {
+                entreguesDuranteRecalculo = new ArrayList<>();
+            } finally {
+                lock.unlock();
+            }
+            Agregado recalculado = null;
+            try {
+                recalculado = calcularAgregado();
+            } finally {
+                lock.lock();
+                try {
+                    if (recalculado != null) {
+                        entreguesDuranteRecalculo.forEach(recalculado::aplicar);
+                        agregado = recalculado;
+                    }
+                    entreguesDuranteRecalculo = null;
+                } finally {
+                    lock.unlock();
+                }
+            }
+        } finally {
+            recalculo.unlock();
+        }
+    }
+
+    // Marca e consultas no mesmo snapshot (REPEATABLE READ): o agregado reflete exatamente os eventos visíveis
+    // até a marca. Transação própria, sem readOnly, para continuar no primário quando houver réplica de leitura.
+    Agregado calcularAgregado() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        return transactionTemplate.execute(status -> {
+            // Ids são gerados na inserção, não no commit: um id abaixo da marca que falta no snapshot pode ser de
+            // uma transação ainda aberta. Como no despachante, só lacunas mais novas que esperaLacuna ainda podem
+            // confirmar; ficam guardadas no agregado e o evento é aplicado quando for entregue.
+            List<Long> ids = eventoProjetoRepository.idsRecentes(
+                    LocalDateTime.now().minus(eventosProjetoProperties.esperaLacuna()));
+            Agregado novo = calcularAgregado(ids.isEmpty() ? 0L : ids.get(ids.size() - 1));
+            for (int i = 1; i < ids.size(); i++) {
+                for (long id = ids.get(i - 1) + 1; id < ids.get(i); id++) {
+                    novo.lacunas.add(id);
+                }
+            }
+            return novo;
+        });
+    }
+
+    // Sem transação própria: quem chama lê a marca e as consultas no mesmo snapshot
+    Agregado calcularAgregado(long ultimoEvento) {
+        Agregado novo = new Agregado(ultimoEvento);
+        for (ProjetoRepository.ResumoStatus resumo : projetoRepository.resumirPorStatus()) {
+            novo.quantidadePorStatus.put(resumo.getStatus(), resumo.getQuantidade());
+            if (resumo.getOrcamentoTotal() != null) {
+                novo.orcamentoPorStatus.put(resumo.getStatus(), resumo.getOrcamentoTotal());
+            }
+            novo.quantidadePorRisco.merge(ClassificacaoRisco.BAIXO, resumo.getRiscoBaixo(), Long::sum);
+            novo.quantidadePorRisco.merge(ClassificacaoRisco.MEDIO, resumo.getRiscoMedio(), Long::sum);
+            novo.quantidadePorRisco.merge(ClassificacaoRisco.ALTO, resumo.getRiscoAlto(), Long::sum);
+            if (resumo.getStatus() == StatusProjeto.ENCERRADO) {
+                novo.encerradosComTermino = resumo.getComTermino();
+                novo.totalDiasEncerrados = resumo.getDiasAteTermino() != null ? resumo.getDiasAteTermino() : 0L;
+            }
+        }
+        // Mesmo formato do delta: classificações sem projeto não aparecem
+        novo.quantidadePorRisco.values().removeIf(quantidade -> quantidade == 0);
+
+        projetoRepository.countProjetosPorMembro().forEach(linha ->
+                novo.projetosPorMembro.put(linha.getMembroId(), linha.getQuantidade()));
+        return novo;
+    }
+
+    static class Agregado {
+        private final long ultimoEvento;
+        // Ids até a marca que não estavam no snapshot; saem do conjunto ao serem aplicados
+        private final Set<Long> lacunas = new HashSet<>();
+        private final Map<StatusProjeto, Long> quantidadePorStatus = new EnumMap<>(StatusProjeto.class);
+        private final Map<StatusProjeto, BigDecimal> orcamentoPorStatus = new EnumMap<>(StatusProjeto.class);
+        private final Map<ClassificacaoRisco, Long> quantidadePorRisco = new EnumMap<>(ClassificacaoRisco.class);
+        private final Map<Long, Long> projetosPorMembro = new HashMap<>();
+        private long encerradosComTermino;
+        private long totalDiasEncerrados;
+
+        Agregado(long ultimoEvento) {
+            this.ultimoEvento = ultimoEvento;
+        }
+
+        // Eventos até a marca já estão na contagem, exceto as lacunas
+        void aplicar(EventoProjeto evento) {
+            if (evento.id() <= ultimoEvento && !lacunas.remove(evento.id())) {
+                return;
+            }
+            remover(evento.alteracao().anterior());
+            adicionar(evento.alteracao().atual());
+        }
+
+        // Volta o agregado para antes do evento; só para eventos já refletidos nele
+        void desfazer(EventoProjeto evento) {
+            remover(evento.alteracao().atual());
+            adicionar(evento.alteracao().anterior());
+        }
+
+        void adicionar(ProjetoSnapshot projeto) {
+            aplicar(projeto, 1);
+        }
+
+        void remover(ProjetoSnapshot projeto) {
+            aplicar(projeto, -1);
+        }
+
+        private void aplicar(ProjetoSnapshot projeto, int sinal) {
+            if (projeto == null || projeto.status() == null) {
+                return;
+            }
+            quantidadePorStatus.merge(projeto.status(), (long) sinal, Long::sum);
+            quantidadePorStatus.remove(projeto.status(), 0L);
+
+            if (projeto.orcamentoTotal() != null) {
+                BigDecimal total = orcamentoPorStatus.getOrDefault(projeto.status(), BigDecimal.ZERO)
+                        .add(sinal > 0 ? projeto.orcamentoTotal() : projeto.orcamentoTotal().negate());
+                if (quantidadePorStatus.containsKey(projeto.status())) {
+                    orcamentoPorStatus.put(projeto.status(), total);
+                } else {
+                    orcamentoPorStatus.remove(projeto.status());
+                }
+            }
+
+            if (projeto.classificacaoRisco() != null) {
+                quantidadePorRisco.merge(projeto.classificacaoRisco(), (long) sinal, Long::sum);
+                quantidadePorRisco.remove(projeto.classificacaoRisco(), 0L);
+            }
+
+            if (projeto.status() == StatusProjeto.ENCERRADO && projeto.dataRealTermino() != null) {
+                encerradosComTermino += sinal;
+                totalDiasEncerrados += sinal * ChronoUnit.DAYS.between(projeto.dataInicio(), projeto.dataRealTermino());
+            }
+
+            projeto.membrosIds().forEach(membroId -> {
+                projetosPorMembro.merge(membroId, (long) sinal, Long::sum);
+                projetosPorMembro.remove(membroId, 0L);
+            });
+        }
+
+        RelatorioPortfolioDTO toDTO() {
+            return RelatorioPortfolioDTO.builder()
+                    .quantidadeProjetosPorStatus(new EnumMap<>(quantidadePorStatus))
+                    .totalOrcadoPorStatus(new EnumMap<>(orcamentoPorStatus))
+                    .quantidadeProjetosPorRisco(new EnumMap<>(quantidadePorRisco))
+                    .mediaDuracaoProjetosEncerrados(encerradosComTermino > 0 ?
+                            (double) totalDiasEncerrados / encerradosComTermino : null)
+                    .totalMembrosUnicosAlocados((long) projetosPorMembro.size())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.GerenciadorPortfolios.service;
+
+import com.example.GerenciadorPortfolios.exception.TransicaoStatusInvalidaException;
+import com.example.GerenciadorPortfolios.exception.ValidacaoException;
+import com.example.GerenciadorPortfolios.model.enums.StatusProjeto;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+// Sequência obrigatória de status; rejeições contadas em portfolio.projetos.transicoes.rejeitadas
+@Component
+@RequiredArgsConstructor
+public class ValidadorTransicaoStatus {
+    private final MeterRegistry meterRegistry;
+
+    public void validar(StatusProjeto statusAtual, StatusProjeto novoStatus) {
+        if (novoStatus == null) {
+            registrarTransicaoRejeitada(statusAtual, null);
+            throw new ValidacaoException("Status do projeto é obrigatório");
+        }
+
+        if (statusAtual == null && novoStatus != StatusProjeto.EM_ANALISE) {
+            registrarTransicaoRejeitada(null, novoStatus);
+            throw new TransicaoStatusInvalidaException("Novos projetos devem iniciar com status 'Em Análise'");
+        }
+
+        if (statusAtual != null && novoStatus == StatusProjeto.CANCELADO) {
+            return; // Cancelamento é sempre permitido
+        }
+
+        if (statusAtual != null && novoStatus.ordinal() != statusAtual.ordinal() + 1) {
+            registrarTransicaoRejeitada(statusAtual, novoStatus);
+            throw new TransicaoStatusInvalidaException(
+                    String.format("Transição de status inválida: %s → %s. Deve seguir a sequência correta.",
+                            statusAtual.getDescricao(), novoStatus.getDescricao()));
+        }
+    }
+
+    // Projetos novos aparecem como de="NOVO"; status ausente como para="NENHUM"
+    private void registrarTransicaoRejeitada(StatusProjeto de, StatusProjeto para) {
+        meterRegistry.counter("portfolio.projetos.transicoes.rejeitadas",
+                "de", de != null ? de.name() : "NOVO",
+                "para", para != null ? para.name() : "NENHUM").increment();
+    }
+}
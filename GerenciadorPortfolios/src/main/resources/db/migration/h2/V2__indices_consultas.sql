@@ -0,0 +1,7 @@
+-- H2 não tem INCLUDE: a coluna de orçamento entra na chave para o índice cobrir as agregações por status
+create index idx_projetos_status on projetos (status, orcamento_total);
+
+-- O H2 já indexa toda FK (gerente_id incluído); este cobre a carga dos membros de uma página sem ir à tabela
+create index idx_projeto_membros_projeto on projeto_membros (projeto_id, membro_id);
+
+-- Sem equivalente ao pg_trgm no H2: a busca por nome continua com varredura
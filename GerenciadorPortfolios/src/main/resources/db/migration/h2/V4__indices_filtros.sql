@@ -0,0 +1,3 @@
+-- Filtros por faixa da listagem de projetos (status, gerente, risco e nome já têm índice)
+create index idx_projetos_data_inicio on projetos (data_inicio);
+create index idx_projetos_orcamento on projetos (orcamento_total);
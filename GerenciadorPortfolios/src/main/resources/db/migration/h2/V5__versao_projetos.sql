@@ -0,0 +1,2 @@
+-- Versão para bloqueio otimista (@Version) e ETag; linhas existentes começam na versão 0
+alter table projetos add column versao bigint default 0 not null;
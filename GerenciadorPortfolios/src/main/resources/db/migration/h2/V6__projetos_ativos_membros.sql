@@ -0,0 +1,12 @@
+-- Contador de projetos ativos por membro, mantido pelas escritas de projetos (MembroAlocacaoRepository)
+alter table membros add column projetos_ativos integer default 0 not null;
+
+update membros m set projetos_ativos = (
+    select count(*)
+    from projeto_membros pm
+    join projetos p on p.id = pm.projeto_id
+    where pm.membro_id = m.id
+      and p.status not in ('ENCERRADO', 'CANCELADO')
+);
+
+alter table membros add constraint ck_membros_projetos_ativos check (projetos_ativos >= 0);
@@ -0,0 +1,30 @@
+-- Esquema gerado até então pelo ddl-auto=update; bancos existentes entram pela baseline (versão 1)
+create table membros (
+    id bigserial not null,
+    atribuicao varchar(255) not null,
+    identificador_externo varchar(255) not null,
+    nome varchar(255) not null,
+    primary key (id)
+);
+
+create table projetos (
+    id bigserial not null,
+    nome varchar(255) not null,
+    data_inicio date,
+    previsao_termino date,
+    data_real_termino date,
+    orcamento_total numeric(38,2) not null,
+    descricao varchar(1000),
+    status varchar(255) check (status in ('EM_ANALISE','ANALISE_REALIZADA','ANALISE_APROVADA','INICIADO','PLANEJADO','EM_ANDAMENTO','ENCERRADO','CANCELADO')),
+    gerente_id bigint not null,
+    primary key (id),
+    constraint fk_projetos_gerente foreign key (gerente_id) references membros
+);
+
+create table projeto_membros (
+    membro_id bigint not null,
+    projeto_id bigint not null,
+    primary key (membro_id, projeto_id),
+    constraint fk_projeto_membros_membro foreign key (membro_id) references membros,
+    constraint fk_projeto_membros_projeto foreign key (projeto_id) references projetos
+);
@@ -0,0 +1,12 @@
+-- Agregações do relatório por status (contagem e soma de orçamento) resolvidas só pelo índice
+create index if not exists idx_projetos_status on projetos (status) include (orcamento_total);
+
+-- Projetos de um gerente e verificação da FK ao excluir membros
+create index if not exists idx_projetos_gerente on projetos (gerente_id);
+
+-- A PK (membro_id, projeto_id) já atende buscas por membro; este cobre a carga dos membros de uma página
+create index if not exists idx_projeto_membros_projeto on projeto_membros (projeto_id, membro_id);
+
+-- Busca por nome (findByNomeContainingIgnoreCase gera upper(nome) like upper('%...%'))
+create extension if not exists pg_trgm;
+create index if not exists idx_projetos_nome_trgm on projetos using gin (upper(nome) gin_trgm_ops);
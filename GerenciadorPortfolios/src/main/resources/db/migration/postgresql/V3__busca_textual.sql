@@ -0,0 +1,7 @@
+-- Vetor de busca mantido pelo próprio banco a cada escrita: nome com peso A, descrição com peso B
+alter table projetos add column busca tsvector generated always as (
+    setweight(to_tsvector('portuguese', coalesce(nome, '')), 'A') ||
+    setweight(to_tsvector('portuguese', coalesce(descricao, '')), 'B')
+) stored;
+
+create index idx_projetos_busca on projetos using gin (busca);
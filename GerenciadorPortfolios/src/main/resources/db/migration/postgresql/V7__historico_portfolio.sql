@@ -0,0 +1,28 @@
+-- Histórico do portfólio, somente inclusão. Cada escrita de projeto grava um evento em eventos_projeto
+-- (sem FK: o registro sobrevive à exclusão do projeto) e um fechamento diário grava a fotografia por status
+-- junto com as transições do dia; dia/semana/mês são lidos desses fechamentos.
+create table historico_portfolio (
+    dia date not null,
+    status varchar(255) not null,
+    quantidade bigint not null,
+    orcamento_total numeric(38,2) not null,
+    transicoes bigint not null,
+    primary key (dia, status)
+);
+
+-- Outbox de eventos de projeto: gravado na transação de cada escrita e despachado em lotes, em ordem de id,
+-- aos consumidores em memória de cada instância (DespachanteEventosProjeto). Também serve de log de auditoria
+-- de criações, edições, transições e exclusões, mantido por portfolio.eventos.retencao.
+-- O payload (ProjetoAlteradoEvent em JSON) cabe folgado: um projeto tem no máximo 10 membros.
+create table eventos_projeto (
+    id bigserial not null,
+    projeto_id bigint not null,
+    tipo varchar(20) not null check (tipo in ('CRIACAO','EDICAO','MUDANCA_STATUS','EXCLUSAO')),
+    status_anterior varchar(255),
+    status_novo varchar(255),
+    payload varchar(4000) not null,
+    criado_em timestamp not null,
+    primary key (id)
+);
+
+create index idx_eventos_projeto_criado_em on eventos_projeto (criado_em);
@@ -0,0 +1,22 @@
+-- Classificação de risco persistida (antes calculada no @PostLoad). IF NOT EXISTS: bancos que passaram pelo
+-- ddl-auto=update depois da baseline já podem ter a coluna
+alter table projetos add column if not exists classificacao_risco varchar(10)
+    check (classificacao_risco in ('BAIXO','MEDIO','ALTO'));
+
+-- Mesma regra de ClassificacaoRisco.calcular: meses completos entre início e previsão de término (0 sem datas)
+update projetos
+set classificacao_risco = case
+        when orcamento_total <= 100000 and meses <= 3 then 'BAIXO'
+        when (orcamento_total > 100000 and orcamento_total <= 500000) or (meses > 3 and meses <= 6) then 'MEDIO'
+        else 'ALTO'
+    end
+from (select id as projeto_id,
+             coalesce((extract(year from previsao_termino) * 12 + extract(month from previsao_termino))
+                 - (extract(year from data_inicio) * 12 + extract(month from data_inicio))
+                 - case when extract(day from previsao_termino) < extract(day from data_inicio) then 1 else 0 end,
+                 0) as meses
+      from projetos) duracao
+where projetos.id = duracao.projeto_id
+  and classificacao_risco is null;
+
+create index if not exists idx_projetos_classificacao_risco on projetos (classificacao_risco);
@@ -0,0 +1,33 @@
+package com.example.GerenciadorPortfolios;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Com menos threads que jobs, um job longo (recálculo, fechamento) atrasa o despacho do outbox
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AgendamentoIntegrationTest {
+
+    @Autowired
+    private ScheduledTaskHolder scheduledTaskHolder;
+
+    @Autowired
+    private ThreadPoolTaskScheduler taskScheduler;
+
+    @Test
+    void agendador_DeveTerUmaThreadPorJob() {
+        int jobs = scheduledTaskHolder.getScheduledTasks().size();
+        int threads = taskScheduler.getScheduledThreadPoolExecutor().getCorePoolSize();
+
+        assertTrue(threads >= jobs, () -> String.format(
+                "%d jobs agendados para %d threads: aumente o padrão de PORTFOLIO_AGENDAMENTO_THREADS", jobs, threads));
+    }
+}
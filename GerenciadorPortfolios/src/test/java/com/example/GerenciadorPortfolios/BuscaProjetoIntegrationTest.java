@@ -0,0 +1,92 @@
+package com.example.GerenciadorPortfolios;
+
+import com.example.GerenciadorPortfolios.dto.ProjetoDTO;
+import com.example.GerenciadorPortfolios.exception.ValidacaoException;
+import com.example.GerenciadorPortfolios.model.Membro;
+import com.example.GerenciadorPortfolios.model.Projeto;
+import com.example.GerenciadorPortfolios.model.enums.StatusProjeto;
+import com.example.GerenciadorPortfolios.repository.MembroRepository;
+import com.example.GerenciadorPortfolios.repository.ProjetoRepository;
+import com.example.GerenciadorPortfolios.service.BuscaProjetoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Exercita o caminho de fallback (LIKE) do H2; no PostgreSQL a mesma busca vai ao índice GIN de tsvector
+@SpringBootTest
+@ActiveProfiles("test")
+class BuscaProjetoIntegrationTest {
+
+    @Autowired
+    private BuscaProjetoService buscaProjetoService;
+
+    @Autowired
+    private ProjetoRepository projetoRepository;
+
+    @Autowired
+    private MembroRepository membroRepository;
+
+    @BeforeEach
+    void setUp() {
+        Membro gerente = membroRepository.save(Membro.builder().nome("Gerente").atribuicao("gerente")
+                .identificadorExterno("ger-busca").build());
+        Membro funcionario = membroRepository.save(Membro.builder().nome("Funcionário").atribuicao("funcionario")
+                .identificadorExterno("func-busca").build());
+
+        projetoRepository.saveAll(List.of(
+                projeto("Portal do Cliente", "Migração do sistema de faturamento", gerente, funcionario),
+                projeto("Sistema de Faturamento", "Novo módulo de notas fiscais", gerente, funcionario),
+                projeto("Aplicativo Interno", "Cadastro de funcionários", gerente, funcionario)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        projetoRepository.deleteAll();
+        membroRepository.deleteAll();
+    }
+
+    @Test
+    void buscar_DevePriorizarTermosNoNome() {
+        List<ProjetoDTO> resultado = buscaProjetoService.buscar("faturamento", 10);
+
+        assertEquals(List.of("Sistema de Faturamento", "Portal do Cliente"),
+                resultado.stream().map(ProjetoDTO::getNome).toList());
+        assertEquals(1, resultado.get(0).getMembrosIds().size());
+    }
+
+    @Test
+    void buscar_DeveAceitarPrefixosEExigirTodosOsTermos() {
+        List<ProjetoDTO> resultado = buscaProjetoService.buscar("sist fatur notas", 10);
+
+        assertEquals(List.of("Sistema de Faturamento"), resultado.stream().map(ProjetoDTO::getNome).toList());
+    }
+
+    @Test
+    void buscar_SemTermos_DeveLancarValidacao() {
+        assertThrows(ValidacaoException.class, () -> buscaProjetoService.buscar(" %_* ", 10));
+    }
+
+    private static Projeto projeto(String nome, String descricao, Membro gerente, Membro funcionario) {
+        return Projeto.builder()
+                .nome(nome)
+                .descricao(descricao)
+                .dataInicio(LocalDate.now())
+                .previsaoTermino(LocalDate.now().plusMonths(2))
+                .orcamentoTotal(new BigDecimal("50000"))
+                .status(StatusProjeto.EM_ANALISE)
+                .gerente(gerente)
+                .membros(new HashSet<>(Set.of(funcionario)))
+                .build();
+    }
+}
@@ -0,0 +1,263 @@
+package com.example.GerenciadorPortfolios;
+
+import com.example.GerenciadorPortfolios.dto.ProjetoDTO;
+import com.example.GerenciadorPortfolios.exception.TransicaoStatusInvalidaException;
+import com.example.GerenciadorPortfolios.model.Membro;
+import com.example.GerenciadorPortfolios.model.Projeto;
+import com.example.GerenciadorPortfolios.model.enums.StatusProjeto;
+import com.example.GerenciadorPortfolios.repository.MembroAlocacaoRepository;
+import com.example.GerenciadorPortfolios.repository.MembroRepository;
+import com.example.GerenciadorPortfolios.repository.ProjetoRepository;
+import com.example.GerenciadorPortfolios.service.ProjetoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConcorrenciaProjetoIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProjetoService projetoService;
+
+    @Autowired
+    private ProjetoRepository projetoRepository;
+
+    @Autowired
+    private MembroRepository membroRepository;
+
+    @Autowired
+    private MembroAlocacaoRepository membroAlocacaoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Membro gerente;
+    private Membro funcionario;
+    private Projeto projeto;
+
+    @BeforeEach
+    void setUp() {
+        gerente = membroRepository.save(Membro.builder().nome("Gerente").atribuicao("gerente")
+                .identificadorExterno("ger-concorrencia").build());
+        funcionario = membroRepository.save(Membro.builder().nome("Funcionário").atribuicao("funcionario")
+                .identificadorExterno("func-concorrencia").build());
+        projeto = projetoRepository.save(Projeto.builder()
+                .nome("Projeto concorrido")
+                .dataInicio(LocalDate.now())
+                .previsaoTermino(LocalDate.now().plusMonths(2))
+                .orcamentoTotal(new BigDecimal("50000"))
+                .status(StatusProjeto.EM_ANALISE)
+                .gerente(gerente)
+                .membros(Set.of(funcionario))
+                .build());
+        membroAlocacaoRepository.recalcular();
+    }
+
+    @AfterEach
+    void tearDown() {
+        projetoRepository.deleteAll();
+        membroRepository.deleteAll();
+    }
+
+    @Test
+    void atualizar_ComIfMatch_DeveAceitarVersaoAtualERejeitarAntiga() throws Exception {
+        String url = "/api/projetos/" + projeto.getId();
+        mockMvc.perform(get(url).with(httpBasic("user", "user123")))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+
+        mockMvc.perform(put(url).with(httpBasic("admin", "admin123"))
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(projetoJson(StatusProjeto.ANALISE_REALIZADA)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+        // Segunda edição baseada na mesma leitura: a versão 0 já não é a atual
+        mockMvc.perform(put(url).with(httpBasic("admin", "admin123"))
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(projetoJson(StatusProjeto.ANALISE_APROVADA)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void atualizarStatus_ComIfMatchDesatualizadoOuTransicaoInvalida_DeveRejeitar() throws Exception {
+        String url = "/api/projetos/" + projeto.getId() + "/status";
+
+        mockMvc.perform(patch(url).with(httpBasic("admin", "admin123"))
+                        .header(HttpHeaders.IF_MATCH, "\"5\"")
+                        .param("status", "ANALISE_REALIZADA"))
+                .andExpect(status().isPreconditionFailed());
+
+        // Comparação forte: a ETag fraca da versão atual também é rejeitada
+        mockMvc.perform(patch(url).with(httpBasic("admin", "admin123"))
+                        .header(HttpHeaders.IF_MATCH, "W/\"0\"")
+                        .param("status", "ANALISE_REALIZADA"))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(patch(url).with(httpBasic("admin", "admin123"))
+                        .param("status", "INICIADO"))
+                .andExpect(status().isConflict());
+
+        mockMvc.perform(patch(url).with(httpBasic("admin", "admin123"))
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .param("status", "ANALISE_REALIZADA"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+    }
+
+    @Test
+    void atualizarStatus_Concorrente_DeveAplicarTransicaoUmaUnicaVez() throws Exception {
+        int concorrentes = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(concorrentes);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Boolean>> resultados = new ArrayList<>();
+        for (int i = 0; i < concorrentes; i++) {
+            resultados.add(executor.submit(() -> {
+                largada.await();
+                try {
+                    projetoService.atualizarStatus(projeto.getId(), StatusProjeto.ANALISE_REALIZADA, null);
+                    return true;
+                } catch (Throwable e) {
+                    // Perdedores encontram o status já avançado
+                    if (e instanceof TransicaoStatusInvalidaException) {
+                        return false;
+                    }
+                    throw new AssertionError(e);
+                }
+            }));
+        }
+        largada.countDown();
+
+        int aplicadas = 0;
+        for (Future<Boolean> resultado : resultados) {
+            if (resultado.get(30, TimeUnit.SECONDS)) {
+                aplicadas++;
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(1, aplicadas);
+        Projeto atualizado = projetoRepository.findById(projeto.getId()).orElseThrow();
+        assertEquals(StatusProjeto.ANALISE_REALIZADA, atualizado.getStatus());
+        assertEquals(1L, atualizado.getVersao());
+    }
+
+    @Test
+    void criar_ConcorrenteComMesmoMembro_NaoDeveUltrapassarLimiteDeProjetosAtivos() throws Exception {
+        Membro disputado = membroRepository.save(Membro.builder().nome("Disputado").atribuicao("funcionario")
+                .identificadorExterno("func-disputado").build());
+
+        int concorrentes = 12;
+        ExecutorService executor = Executors.newFixedThreadPool(concorrentes);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Long>> resultados = new ArrayList<>();
+        for (int i = 0; i < concorrentes; i++) {
+            int indice = i;
+            resultados.add(executor.submit(() -> {
+                largada.await();
+                try {
+                    return projetoService.criar(novoProjeto("Alocação " + indice, disputado)).getId();
+                } catch (RuntimeException e) {
+                    // Perdedores encontram o membro já no limite
+                    if (e.getMessage() != null && e.getMessage().contains("Limite máximo é 3")) {
+                        return null;
+                    }
+                    throw e;
+                }
+            }));
+        }
+        largada.countDown();
+
+        List<Long> criados = new ArrayList<>();
+        for (Future<Long> resultado : resultados) {
+            Long id = resultado.get(30, TimeUnit.SECONDS);
+            if (id != null) {
+                criados.add(id);
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(3, criados.size());
+        assertEquals(3, projetosAtivos(disputado));
+        assertEquals(3, contadorDe(disputado));
+
+        // Encerrar um projeto devolve a vaga
+        projetoService.atualizarStatus(criados.get(0), StatusProjeto.CANCELADO, null);
+        assertEquals(2, contadorDe(disputado));
+        projetoService.criar(novoProjeto("Alocação após cancelamento", disputado));
+        assertEquals(3, contadorDe(disputado));
+        assertEquals(3, projetosAtivos(disputado));
+    }
+
+    private ProjetoDTO novoProjeto(String nome, Membro membro) {
+        return ProjetoDTO.builder()
+                .nome(nome)
+                .dataInicio(LocalDate.now())
+                .previsaoTermino(LocalDate.now().plusMonths(2))
+                .orcamentoTotal(new BigDecimal("50000"))
+                .status(StatusProjeto.EM_ANALISE)
+                .gerenteId(gerente.getId())
+                .membrosIds(Set.of(membro.getId()))
+                .build();
+    }
+
+    private long projetosAtivos(Membro membro) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM projeto_membros pm " +
+                "JOIN projetos p ON p.id = pm.projeto_id " +
+                "WHERE pm.membro_id = ? AND p.status NOT IN ('ENCERRADO', 'CANCELADO')", Long.class, membro.getId());
+    }
+
+    @Test
+    void contarProjetosAtivos_ComMilharesDeIds_DeveConsultarEmBlocos() {
+        // Ids inexistentes enchem vários blocos; os dois membros reais ficam em blocos quaisquer
+        Set<Long> ids = LongStream.rangeClosed(1, 1998).map(i -> -i).boxed().collect(Collectors.toSet());
+        ids.add(gerente.getId());
+        ids.add(funcionario.getId());
+
+        Map<Long, Long> projetosAtivos = membroAlocacaoRepository.contarProjetosAtivos(ids);
+
+        assertEquals(Map.of(gerente.getId(), 0L, funcionario.getId(), 1L), projetosAtivos);
+    }
+
+    private long contadorDe(Membro membro) {
+        return membroAlocacaoRepository.contarProjetosAtivos(Set.of(membro.getId())).get(membro.getId());
+    }
+
+    private String projetoJson(StatusProjeto status) {
+        return """
+                {"nome": "Projeto concorrido", "dataInicio": "%s", "previsaoTermino": "%s",
+                 "orcamentoTotal": 60000, "status": "%s", "gerenteId": %d, "membrosIds": [%d]}
+                """.formatted(LocalDate.now(), LocalDate.now().plusMonths(2), status, gerente.getId(),
+                funcionario.getId());
+    }
+}
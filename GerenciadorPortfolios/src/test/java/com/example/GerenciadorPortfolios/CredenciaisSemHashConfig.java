@@ -0,0 +1,27 @@
+package com.example.GerenciadorPortfolios;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+// Usada nos testes de carga (com spring.main.allow-bean-definition-overriding=true): o BCrypt da
+// autenticação básica consome CPU em toda requisição e dominaria as medições. Sem PasswordEncoder
+// explícito o Spring ainda faria o "upgrade" das senhas para BCrypt após o primeiro login.
+class CredenciaisSemHashConfig {
+
+    @Bean
+    public UserDetailsService userDetailsService() {
+        return new InMemoryUserDetailsManager(
+                User.withUsername("user").password("user123").roles("USER").build(),
+                User.withUsername("admin").password("admin123").roles("ADMIN").build());
+    }
+
+    @Bean
+    @SuppressWarnings("deprecation")
+    public PasswordEncoder passwordEncoder() {
+        return NoOpPasswordEncoder.getInstance();
+    }
+}
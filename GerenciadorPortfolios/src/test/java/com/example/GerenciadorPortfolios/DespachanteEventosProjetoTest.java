@@ -0,0 +1,84 @@
+package com.example.GerenciadorPortfolios;
+
+import com.example.GerenciadorPortfolios.config.EventosProjetoProperties;
+import com.example.GerenciadorPortfolios.event.DespachanteEventosProjeto;
+import com.example.GerenciadorPortfolios.event.EventoProjeto;
+import com.example.GerenciadorPortfolios.event.EventosProjetoDespachados;
+import com.example.GerenciadorPortfolios.event.TipoEventoProjeto;
+import com.example.GerenciadorPortfolios.repository.EventoProjetoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DespachanteEventosProjetoTest {
+
+    @Mock
+    private EventoProjetoRepository eventoProjetoRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private DespachanteEventosProjeto despachante;
+
+    @BeforeEach
+    void setUp() {
+        despachante = new DespachanteEventosProjeto(eventoProjetoRepository, eventPublisher,
+                new EventosProjetoProperties(500, Duration.ofSeconds(2), Duration.ofDays(90)));
+        when(eventoProjetoRepository.ultimoId()).thenReturn(10L);
+    }
+
+    @Test
+    void despachar_DevePartirDoFimDoLogEEntregarEmOrdem() {
+        when(eventoProjetoRepository.buscarApos(10L, 500)).thenReturn(List.of(evento(11, 0), evento(12, 0)));
+        when(eventoProjetoRepository.buscarApos(12L, 500)).thenReturn(List.of());
+
+        assertEquals(2, despachante.despachar());
+        assertEquals(0, despachante.despachar());
+
+        ArgumentCaptor<EventosProjetoDespachados> lote = ArgumentCaptor.forClass(EventosProjetoDespachados.class);
+        verify(eventPublisher).publishEvent(lote.capture());
+        assertEquals(List.of(11L, 12L), lote.getValue().eventos().stream().map(EventoProjeto::id).toList());
+    }
+
+    @Test
+    void despachar_ComLacunaRecente_DeveEsperarETratarComoRollbackDepoisDoPrazo() {
+        // id 12 pulado: o 13 acabou de ser gravado, então a transação do 12 ainda pode confirmar
+        when(eventoProjetoRepository.buscarApos(10L, 500)).thenReturn(List.of(evento(11, 0), evento(13, 0)));
+        when(eventoProjetoRepository.buscarApos(11L, 500))
+                .thenReturn(List.of(evento(13, 0)))
+                .thenReturn(List.of(evento(13, 5)));
+
+        assertEquals(1, despachante.despachar());
+        assertEquals(0, despachante.despachar());
+        assertEquals(1, despachante.despachar());
+        verify(eventPublisher, times(2)).publishEvent(any(EventosProjetoDespachados.class));
+    }
+
+    @Test
+    void despachar_ComFalhaNoConsumidor_DeveAvancarOCursor() {
+        when(eventoProjetoRepository.buscarApos(10L, 500)).thenReturn(List.of(evento(11, 0)));
+        doThrow(new IllegalStateException("consumidor")).when(eventPublisher).publishEvent(any(Object.class));
+
+        assertEquals(1, despachante.despachar());
+        despachante.despachar();
+
+        verify(eventoProjetoRepository).buscarApos(11L, 500);
+    }
+
+    private EventoProjeto evento(long id, int segundosAtras) {
+        return new EventoProjeto(id, TipoEventoProjeto.EDICAO, LocalDateTime.now().minusSeconds(segundosAtras), null);
+    }
+}
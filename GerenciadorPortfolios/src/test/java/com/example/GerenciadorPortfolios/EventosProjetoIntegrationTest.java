@@ -0,0 +1,104 @@
+package com.example.GerenciadorPortfolios;
+
+import com.example.GerenciadorPortfolios.event.DespachanteEventosProjeto;
+import com.example.GerenciadorPortfolios.model.Membro;
+import com.example.GerenciadorPortfolios.model.Projeto;
+import com.example.GerenciadorPortfolios.model.enums.StatusProjeto;
+import com.example.GerenciadorPortfolios.repository.MembroAlocacaoRepository;
+import com.example.GerenciadorPortfolios.repository.MembroRepository;
+import com.example.GerenciadorPortfolios.repository.ProjetoRepository;
+import com.example.GerenciadorPortfolios.service.ProjetoService;
+import com.example.GerenciadorPortfolios.service.RelatorioPortfolioService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EventosProjetoIntegrationTest {
+
+    @Autowired
+    private ProjetoService projetoService;
+
+    @Autowired
+    private DespachanteEventosProjeto despachanteEventosProjeto;
+
+    @Autowired
+    private RelatorioPortfolioService relatorioPortfolioService;
+
+    @Autowired
+    private ProjetoRepository projetoRepository;
+
+    @Autowired
+    private MembroRepository membroRepository;
+
+    @Autowired
+    private MembroAlocacaoRepository membroAlocacaoRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Projeto projeto;
+
+    @BeforeEach
+    void setUp() {
+        Membro gerente = membroRepository.save(Membro.builder().nome("Gerente").atribuicao("gerente")
+                .identificadorExterno("ger-eventos").build());
+        projeto = projetoRepository.save(Projeto.builder()
+                .nome("Projeto com eventos")
+                .dataInicio(LocalDate.now())
+                .previsaoTermino(LocalDate.now().plusMonths(2))
+                .orcamentoTotal(new BigDecimal("50000"))
+                .status(StatusProjeto.EM_ANALISE)
+                .gerente(gerente)
+                .build());
+        membroAlocacaoRepository.recalcular();
+        despachanteEventosProjeto.despachar();
+        relatorioPortfolioService.recalcular();
+    }
+
+    @AfterEach
+    void tearDown() {
+        projetoRepository.deleteAll();
+        membroRepository.deleteAll();
+    }
+
+    @Test
+    void atualizarStatus_DeveGravarNoOutboxEEntregarAoRelatorioDepoisDoDespacho() {
+        double entreguesAntes = meterRegistry.counter("portfolio.projetos.eventos", "tipo", "MUDANCA_STATUS").count();
+
+        projetoService.atualizarStatus(projeto.getId(), StatusProjeto.ANALISE_REALIZADA, null);
+
+        Map<String, Object> evento = jdbcTemplate.queryForMap(
+                "SELECT tipo, status_anterior, status_novo, payload FROM eventos_projeto WHERE projeto_id = ?",
+                projeto.getId());
+        assertEquals("MUDANCA_STATUS", evento.get("tipo"));
+        assertEquals("EM_ANALISE", evento.get("status_anterior"));
+        assertEquals("ANALISE_REALIZADA", evento.get("status_novo"));
+        assertNotNull(evento.get("payload"));
+
+        despachanteEventosProjeto.despachar();
+
+        Map<StatusProjeto, Long> porStatus = relatorioPortfolioService.obterRelatorio().getQuantidadeProjetosPorStatus();
+        assertEquals(1L, porStatus.get(StatusProjeto.ANALISE_REALIZADA));
+        assertNull(porStatus.get(StatusProjeto.EM_ANALISE));
+        assertEquals(entreguesAntes + 1,
+                meterRegistry.counter("portfolio.projetos.eventos", "tipo", "MUDANCA_STATUS").count());
+    }
+}
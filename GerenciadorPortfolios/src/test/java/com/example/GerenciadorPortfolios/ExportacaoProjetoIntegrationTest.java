@@ -0,0 +1,180 @@
+package com.example.GerenciadorPortfolios;
+
+import com.example.GerenciadorPortfolios.dto.ProjetoDTO;
+import com.example.GerenciadorPortfolios.model.Membro;
+import com.example.GerenciadorPortfolios.model.Projeto;
+import com.example.GerenciadorPortfolios.model.enums.StatusProjeto;
+import com.example.GerenciadorPortfolios.repository.MembroRepository;
+import com.example.GerenciadorPortfolios.repository.ProjetoRepository;
+import com.example.GerenciadorPortfolios.service.ExportacaoProjetoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ExportacaoProjetoIntegrationTest {
+
+    // Um bloco de exportação é de 500 projetos: o portfólio de teste atravessa a fronteira
+    private static final int TOTAL_PROJETOS = 502;
+
+    private static final String NOME_COM_SEPARADORES = "Projeto \"Alfa\", fase 2";
+    private static final String DESCRICAO_COM_QUEBRA = "Linha 1\nLinha 2, com vírgula\r\nLinha 3";
+
+    @Autowired
+    private ExportacaoProjetoService exportacaoProjetoService;
+
+    @Autowired
+    private ProjetoRepository projetoRepository;
+
+    @Autowired
+    private MembroRepository membroRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Long projetoEspecialId;
+    private Set<Long> membrosEspeciais;
+
+    @BeforeEach
+    void setUp() {
+        Membro gerente = membroRepository.save(Membro.builder().nome("Gerente").atribuicao("gerente")
+                .identificadorExterno("ger-exportacao").build());
+        Membro funcionario1 = membroRepository.save(Membro.builder().nome("Funcionário 1").atribuicao("funcionario")
+                .identificadorExterno("func-exportacao-1").build());
+        Membro funcionario2 = membroRepository.save(Membro.builder().nome("Funcionário 2").atribuicao("funcionario")
+                .identificadorExterno("func-exportacao-2").build());
+
+        List<Projeto> projetos = new ArrayList<>();
+        for (int i = 0; i < TOTAL_PROJETOS - 1; i++) {
+            projetos.add(Projeto.builder()
+                    .nome("Projeto " + i)
+                    .dataInicio(LocalDate.of(2024, 1, 1))
+                    .previsaoTermino(LocalDate.of(2024, 3, 1))
+                    .orcamentoTotal(new BigDecimal(1000 + i))
+                    .status(StatusProjeto.EM_ANALISE)
+                    .gerente(gerente)
+                    .build());
+        }
+        projetoRepository.saveAll(projetos);
+
+        projetoEspecialId = projetoRepository.save(Projeto.builder()
+                .nome(NOME_COM_SEPARADORES)
+                .descricao(DESCRICAO_COM_QUEBRA)
+                .dataInicio(LocalDate.of(2024, 1, 1))
+                .previsaoTermino(LocalDate.of(2024, 3, 1))
+                .orcamentoTotal(new BigDecimal("12345.67"))
+                .status(StatusProjeto.EM_ANALISE)
+                .gerente(gerente)
+                .membros(new HashSet<>(Set.of(funcionario1, funcionario2)))
+                .build()).getId();
+        membrosEspeciais = Set.of(funcionario1.getId(), funcionario2.getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        projetoRepository.deleteAll();
+        membroRepository.deleteAll();
+    }
+
+    @Test
+    void exportar_Ndjson_DeveEscreverUmObjetoPorLinha() throws Exception {
+        String saida = exportar(ExportacaoProjetoService.Formato.NDJSON);
+
+        assertTrue(saida.endsWith("\n"));
+        List<String> linhas = List.of(saida.split("\n"));
+        assertEquals(TOTAL_PROJETOS, linhas.size());
+
+        Map<Long, ProjetoDTO> porId = new HashMap<>();
+        for (String linha : linhas) {
+            ProjetoDTO projeto = objectMapper.readValue(linha, ProjetoDTO.class);
+            porId.put(projeto.getId(), projeto);
+        }
+        assertEquals(TOTAL_PROJETOS, porId.size());
+
+        ProjetoDTO especial = porId.get(projetoEspecialId);
+        assertEquals(NOME_COM_SEPARADORES, especial.getNome());
+        assertEquals(DESCRICAO_COM_QUEBRA, especial.getDescricao());
+        assertEquals(0, new BigDecimal("12345.67").compareTo(especial.getOrcamentoTotal()));
+        assertEquals(membrosEspeciais, especial.getMembrosIds());
+    }
+
+    @Test
+    void exportar_Csv_DeveEscreverCabecalhoEEscaparCampos() throws Exception {
+        List<List<String>> registros = lerCsv(exportar(ExportacaoProjetoService.Formato.CSV));
+
+        assertEquals(List.of("id", "nome", "dataInicio", "previsaoTermino", "dataRealTermino", "orcamentoTotal",
+                "descricao", "status", "classificacaoRisco", "gerenteId", "membrosIds"), registros.get(0));
+        assertEquals(TOTAL_PROJETOS + 1, registros.size());
+        assertTrue(registros.stream().allMatch(registro -> registro.size() == 11));
+
+        Map<String, List<String>> porId = registros.stream().skip(1)
+                .collect(Collectors.toMap(registro -> registro.get(0), Function.identity()));
+        List<String> especial = porId.get(String.valueOf(projetoEspecialId));
+        assertEquals(NOME_COM_SEPARADORES, especial.get(1));
+        assertEquals("2024-01-01", especial.get(2));
+        assertEquals("", especial.get(4));
+        assertEquals("12345.67", especial.get(5));
+        assertEquals(DESCRICAO_COM_QUEBRA, especial.get(6));
+        assertEquals("EM_ANALISE", especial.get(7));
+        assertEquals("BAIXO", especial.get(8));
+        assertEquals(membrosEspeciais.stream().sorted().map(String::valueOf).collect(Collectors.joining("|")),
+                especial.get(10));
+    }
+
+    private String exportar(ExportacaoProjetoService.Formato formato) throws Exception {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        exportacaoProjetoService.exportar(formato, saida);
+        return saida.toString(StandardCharsets.UTF_8);
+    }
+
+    // Leitor RFC 4180 mínimo: campos entre aspas podem conter vírgulas, aspas dobradas e quebras de linha
+    private static List<List<String>> lerCsv(String conteudo) {
+        List<List<String>> registros = new ArrayList<>();
+        List<String> registro = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < conteudo.length(); i++) {
+            char c = conteudo.charAt(i);
+            if (entreAspas) {
+                if (c == '"' && i + 1 < conteudo.length() && conteudo.charAt(i + 1) == '"') {
+                    campo.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreAspas = false;
+                } else {
+                    campo.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == ',') {
+                registro.add(campo.toString());
+                campo.setLength(0);
+            } else if (c == '\n') {
+                registro.add(campo.toString());
+                campo.setLength(0);
+                registros.add(registro);
+                registro = new ArrayList<>();
+            } else {
+                campo.append(c);
+            }
+        }
+        assertFalse(entreAspas, "CSV terminou dentro de um campo entre aspas");
+        assertTrue(registro.isEmpty() && campo.isEmpty(), "CSV sem quebra de linha no último registro");
+        return registros;
+    }
+}
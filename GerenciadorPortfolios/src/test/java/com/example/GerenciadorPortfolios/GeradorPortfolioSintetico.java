@@ -0,0 +1,124 @@
+package com.example.GerenciadorPortfolios;
+
+import com.example.GerenciadorPortfolios.model.Membro;
+import com.example.GerenciadorPortfolios.model.Projeto;
+import com.example.GerenciadorPortfolios.model.enums.StatusProjeto;
+import com.example.GerenciadorPortfolios.repository.MembroAlocacaoRepository;
+import com.example.GerenciadorPortfolios.repository.ProjetoLoteRepository;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.*;
+
+// Gera um portfólio sintético direto via JDBC (sem validações nem eventos), reproduzível pela semente.
+// Gerentes, funcionários já alocados em projetos e funcionários livres, reservados para as escritas da carga.
+class GeradorPortfolioSintetico {
+    private static final String INSERT_MEMBRO =
+            "INSERT INTO membros (nome, atribuicao, identificador_externo) VALUES (?, ?, ?)";
+    private static final int TAMANHO_LOTE = 1000;
+    private static final StatusProjeto[] STATUS = StatusProjeto.values();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ProjetoLoteRepository projetoLoteRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Random random;
+    private int sequenciaMembros;
+
+    record Portfolio(List<Long> projetosIds, List<Long> gerentesIds, List<Long> membrosLivresIds) {
+    }
+
+    GeradorPortfolioSintetico(JdbcTemplate jdbcTemplate, ProjetoLoteRepository projetoLoteRepository,
+                              PlatformTransactionManager transactionManager, long semente) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.projetoLoteRepository = projetoLoteRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.random = new Random(semente);
+    }
+
+    Portfolio gerar(int quantidadeProjetos, int quantidadeMembrosLivres) {
+        List<Long> gerentes = inserirMembros("gerente", Math.max(10, quantidadeProjetos / 1000));
+        List<Long> alocados = inserirMembros("funcionario", Math.max(10, quantidadeProjetos / 2));
+        List<Long> livres = inserirMembros("funcionario", quantidadeMembrosLivres);
+
+        List<Long> projetosIds = new ArrayList<>(quantidadeProjetos);
+        for (int inicio = 0; inicio < quantidadeProjetos; inicio += TAMANHO_LOTE) {
+            List<Projeto> lote = new ArrayList<>(TAMANHO_LOTE);
+            for (int i = inicio; i < Math.min(inicio + TAMANHO_LOTE, quantidadeProjetos); i++) {
+                lote.add(novoProjeto(i, gerentes, alocados));
+            }
+            transactionTemplate.executeWithoutResult(status -> projetoLoteRepository.inserir(lote));
+            lote.forEach(projeto -> projetosIds.add(projeto.getId()));
+            if ((inicio + TAMANHO_LOTE) % 100_000 == 0) {
+                System.out.printf("Portfólio sintético: %d/%d projetos%n", inicio + TAMANHO_LOTE, quantidadeProjetos);
+            }
+        }
+        // Inserções diretas não passam pelo contador de alocação: reconstruído uma vez ao final
+        new MembroAlocacaoRepository(jdbcTemplate).recalcular();
+        return new Portfolio(projetosIds, gerentes, livres);
+    }
+
+    private Projeto novoProjeto(int indice, List<Long> gerentes, List<Long> alocados) {
+        StatusProjeto status = STATUS[random.nextInt(STATUS.length)];
+        LocalDate dataInicio = LocalDate.of(2023, 1, 1).plusDays(random.nextInt(3 * 365));
+        LocalDate previsaoTermino = dataInicio.plusMonths(1 + random.nextInt(12));
+
+        // Membro não implementa equals: os ids são sorteados sem repetição antes de montar as entidades
+        Set<Long> membrosIds = new HashSet<>();
+        int quantidadeMembros = 1 + random.nextInt(5);
+        while (membrosIds.size() < quantidadeMembros) {
+            membrosIds.add(alocados.get(random.nextInt(alocados.size())));
+        }
+        Set<Membro> membros = new HashSet<>();
+        membrosIds.forEach(id -> membros.add(Membro.builder().id(id).build()));
+
+        return Projeto.builder()
+                .nome("Projeto sintético " + indice)
+                .dataInicio(dataInicio)
+                .previsaoTermino(previsaoTermino)
+                .dataRealTermino(status == StatusProjeto.ENCERRADO ?
+                        previsaoTermino.plusDays(random.nextInt(60) - 30) : null)
+                .orcamentoTotal(BigDecimal.valueOf(10_000 + random.nextInt(990_000)))
+                .descricao("Gerado para teste de carga")
+                .status(status)
+                .gerente(Membro.builder().id(gerentes.get(random.nextInt(gerentes.size()))).build())
+                .membros(membros)
+                .build();
+    }
+
+    private List<Long> inserirMembros(String atribuicao, int quantidade) {
+        List<Long> ids = new ArrayList<>(quantidade);
+        for (int inicio = 0; inicio < quantidade; inicio += TAMANHO_LOTE) {
+            int tamanho = Math.min(TAMANHO_LOTE, quantidade - inicio);
+            int primeiro = sequenciaMembros;
+            sequenciaMembros += tamanho;
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(
+                    con -> con.prepareStatement(INSERT_MEMBRO, new String[]{"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            String identificador = atribuicao + "-" + (primeiro + i);
+                            ps.setString(1, "Membro " + identificador);
+                            ps.setString(2, atribuicao);
+                            ps.setString(3, identificador);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return tamanho;
+                        }
+                    },
+                    keyHolder);
+            keyHolder.getKeyList().forEach(chave -> ids.add(((Number) chave.get("id")).longValue()));
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.GerenciadorPortfolios;
+
+import com.example.GerenciadorPortfolios.model.Membro;
+import com.example.GerenciadorPortfolios.model.Projeto;
+import com.example.GerenciadorPortfolios.model.enums.StatusProjeto;
+import com.example.GerenciadorPortfolios.repository.HistoricoPortfolioRepository;
+import com.example.GerenciadorPortfolios.repository.HistoricoPortfolioRepository.Fechamento;
+import com.example.GerenciadorPortfolios.repository.MembroAlocacaoRepository;
+import com.example.GerenciadorPortfolios.repository.MembroRepository;
+import com.example.GerenciadorPortfolios.repository.ProjetoRepository;
+import com.example.GerenciadorPortfolios.service.HistoricoPortfolioService;
+import com.example.GerenciadorPortfolios.service.ProjetoService;
+import com.example.GerenciadorPortfolios.service.RelatorioPortfolioService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class HistoricoPortfolioIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProjetoService projetoService;
+
+    @Autowired
+    private HistoricoPortfolioService historicoPortfolioService;
+
+    @Autowired
+    private HistoricoPortfolioRepository historicoPortfolioRepository;
+
+    @Autowired
+    private RelatorioPortfolioService relatorioPortfolioService;
+
+    @Autowired
+    private ProjetoRepository projetoRepository;
+
+    @Autowired
+    private MembroRepository membroRepository;
+
+    @Autowired
+    private MembroAlocacaoRepository membroAlocacaoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Projeto projeto;
+
+    @BeforeEach
+    void setUp() {
+        Membro gerente = membroRepository.save(Membro.builder().nome("Gerente").atribuicao("gerente")
+                .identificadorExterno("ger-historico").build());
+        projeto = projetoRepository.save(Projeto.builder()
+                .nome("Projeto histórico")
+                .dataInicio(LocalDate.now())
+                .previsaoTermino(LocalDate.now().plusMonths(2))
+                .orcamentoTotal(new BigDecimal("50000"))
+                .status(StatusProjeto.EM_ANALISE)
+                .gerente(gerente)
+                .build());
+        membroAlocacaoRepository.recalcular();
+        relatorioPortfolioService.recalcular();
+        // O contexto é compartilhado com outras classes de teste, que também registram transições
+        jdbcTemplate.update("DELETE FROM historico_portfolio");
+        jdbcTemplate.update("DELETE FROM eventos_projeto");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM historico_portfolio");
+        jdbcTemplate.update("DELETE FROM eventos_projeto");
+        projetoRepository.deleteAll();
+        membroRepository.deleteAll();
+    }
+
+    @Test
+    void fecharDia_DeveGravarFotografiaETransicoesUmaUnicaVez() throws Exception {
+        projetoService.atualizarStatus(projeto.getId(), StatusProjeto.ANALISE_REALIZADA, null);
+        LocalDate hoje = LocalDate.now();
+
+        assertTrue(historicoPortfolioService.fecharDia(hoje));
+        assertFalse(historicoPortfolioService.fecharDia(hoje));
+
+        mockMvc.perform(get("/api/projetos/relatorio/historico")
+                        .param("de", hoje.toString()).param("ate", hoje.toString())
+                        .with(httpBasic("user", "user123")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].quantidadeProjetosPorStatus.ANALISE_REALIZADA").value(1))
+                .andExpect(jsonPath("$[0].quantidadeProjetosPorStatus.EM_ANALISE").doesNotExist())
+                .andExpect(jsonPath("$[0].transicoesPorStatus.ANALISE_REALIZADA").value(1));
+    }
+
+    @Test
+    void fecharDiasPendentes_NaSubida_DeveReconstruirCadaDiaPerdidoAteAMeiaNoite() {
+        LocalDate hoje = LocalDate.now();
+        // Último fechamento há três dias: a aplicação ficou parada e perdeu os dois fechamentos seguintes
+        historicoPortfolioRepository.inserirFechamentos(List.of(
+                new Fechamento(hoje.minusDays(3), StatusProjeto.EM_ANALISE, 1, new BigDecimal("50000"), 0)));
+        projetoService.atualizarStatus(projeto.getId(), StatusProjeto.ANALISE_REALIZADA, null);
+        projetoService.atualizarStatus(projeto.getId(), StatusProjeto.ANALISE_APROVADA, null);
+        // Primeira transição ontem; a segunda fica hoje, depois da meia-noite do último dia a fechar
+        jdbcTemplate.update("UPDATE eventos_projeto SET criado_em = ? WHERE status_novo = 'ANALISE_REALIZADA'",
+                Timestamp.valueOf(hoje.minusDays(1).atTime(10, 0)));
+
+        historicoPortfolioService.fecharDiasPendentes();
+
+        Map<LocalDate, List<Fechamento>> porDia = historicoPortfolioRepository
+                .buscarFechamentos(hoje.minusDays(2), hoje).stream()
+                .collect(Collectors.groupingBy(Fechamento::dia));
+        assertEquals(Set.of(hoje.minusDays(2), hoje.minusDays(1)), porDia.keySet());
+        assertEquals(List.of(new Fechamento(hoje.minusDays(2), StatusProjeto.EM_ANALISE, 1,
+                new BigDecimal("50000.00"), 0)), porDia.get(hoje.minusDays(2)));
+        assertEquals(List.of(new Fechamento(hoje.minusDays(1), StatusProjeto.ANALISE_REALIZADA, 1,
+                new BigDecimal("50000.00"), 1)), porDia.get(hoje.minusDays(1)));
+
+        // Nova subida no mesmo dia não regrava nada
+        historicoPortfolioService.fecharDiasPendentes();
+        assertEquals(3, historicoPortfolioRepository.buscarFechamentos(hoje.minusDays(3), hoje).size());
+    }
+
+    @Test
+    void consultarHistorico_PorMes_DeveUsarUltimoDiaFechadoESomarTransicoes() throws Exception {
+        historicoPortfolioRepository.inserirFechamentos(List.of(
+                new Fechamento(LocalDate.of(2024, 1, 10), StatusProjeto.EM_ANALISE, 4, new BigDecimal("400000"), 4),
+                new Fechamento(LocalDate.of(2024, 1, 31), StatusProjeto.EM_ANALISE, 3, new BigDecimal("300000"), 0),
+                new Fechamento(LocalDate.of(2024, 1, 31), StatusProjeto.INICIADO, 1, new BigDecimal("90000"), 1),
+                new Fechamento(LocalDate.of(2024, 2, 5), StatusProjeto.INICIADO, 2, new BigDecimal("150000"), 1)));
+
+        mockMvc.perform(get("/api/projetos/relatorio/historico")
+                        .param("de", "2024-01-01").param("ate", "2024-02-29").param("granularidade", "MES")
+                        .with(httpBasic("user", "user123")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].inicio").value("2024-01-01"))
+                .andExpect(jsonPath("$[0].fim").value("2024-01-31"))
+                .andExpect(jsonPath("$[0].ultimoDiaFechado").value("2024-01-31"))
+                .andExpect(jsonPath("$[0].quantidadeProjetosPorStatus.EM_ANALISE").value(3))
+                .andExpect(jsonPath("$[0].totalOrcadoPorStatus.INICIADO").value(90000))
+                .andExpect(jsonPath("$[0].transicoesPorStatus.EM_ANALISE").value(4))
+                .andExpect(jsonPath("$[1].quantidadeProjetosPorStatus.INICIADO").value(2))
+                .andExpect(jsonPath("$[1].quantidadeProjetosPorStatus.EM_ANALISE").doesNotExist());
+
+        mockMvc.perform(get("/api/projetos/relatorio/historico")
+                        .param("de", "2024-02-01").param("ate", "2024-01-01")
+                        .with(httpBasic("user", "user123")))
+                .andExpect(status().isBadRequest());
+    }
+}
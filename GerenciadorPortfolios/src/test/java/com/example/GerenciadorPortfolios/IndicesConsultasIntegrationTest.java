@@ -0,0 +1,75 @@
+package com.example.GerenciadorPortfolios;
+
+import com.example.GerenciadorPortfolios.repository.ProjetoLoteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Confere pelo plano de execução (EXPLAIN do H2) que as consultas quentes usam os índices das migrações
+@SpringBootTest
+@ActiveProfiles("test")
+class IndicesConsultasIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProjetoLoteRepository projetoLoteRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        new GeradorPortfolioSintetico(jdbcTemplate, projetoLoteRepository, transactionManager, 42L).gerar(1000, 0);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM projeto_membros");
+        jdbcTemplate.update("DELETE FROM projetos");
+        jdbcTemplate.update("DELETE FROM membros");
+    }
+
+    @Test
+    void agregacoesPorStatus_DevemUsarIndiceDeStatus() {
+        String plano = explicar("SELECT status, COUNT(*), SUM(orcamento_total) FROM projetos GROUP BY status");
+
+        assertTrue(plano.contains("IDX_PROJETOS_STATUS"), plano);
+    }
+
+    @Test
+    void projetosAtivosPorMembro_DeveUsarChavePrimariaDeProjetoMembros() {
+        String plano = explicar("SELECT COUNT(*) FROM projetos p JOIN projeto_membros pm ON pm.projeto_id = p.id " +
+                "WHERE pm.membro_id = 1 AND p.status NOT IN ('ENCERRADO', 'CANCELADO')");
+
+        assertFalse(plano.contains("tableScan"), plano);
+    }
+
+    @Test
+    void membrosDaPagina_DevemUsarIndiceDeProjeto() {
+        String plano = explicar("SELECT pm.membro_id FROM projeto_membros pm WHERE pm.projeto_id IN (1, 2, 3)");
+
+        assertTrue(plano.contains("IDX_PROJETO_MEMBROS_PROJETO"), plano);
+    }
+
+    @Test
+    void projetosDoGerente_NaoDevemVarrerProjetos() {
+        // No Postgres é o idx_projetos_gerente; o H2 cria sozinho um índice para a FK
+        String plano = explicar("SELECT id FROM projetos WHERE gerente_id = 1");
+
+        assertFalse(plano.contains("tableScan"), plano);
+    }
+
+    private String explicar(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+    }
+}
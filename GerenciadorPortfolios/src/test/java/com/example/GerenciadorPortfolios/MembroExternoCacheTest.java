@@ -0,0 +1,104 @@
+package com.example.GerenciadorPortfolios;
+
+import com.example.GerenciadorPortfolios.client.MembroExternoCache;
+import com.example.GerenciadorPortfolios.client.MembroExternoClient;
+import com.example.GerenciadorPortfolios.config.MembroExternoProperties;
+import com.example.GerenciadorPortfolios.dto.MembroDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class MembroExternoCacheTest {
+
+    @Mock
+    private MembroExternoClient membroExternoClient;
+
+    private MembroExternoCache membroExternoCache;
+
+    @BeforeEach
+    void setUp() {
+        MembroExternoProperties propriedades = new MembroExternoProperties(
+                "http://localhost/membros", false, Duration.ofSeconds(1), Duration.ofSeconds(1), 10, 10, 1,
+                Duration.ofMillis(10), 50, 10, Duration.ofSeconds(30),
+                new MembroExternoProperties.CacheConsulta(100, Duration.ofMillis(200), Duration.ofMinutes(10),
+                        Duration.ofMinutes(1)));
+        membroExternoCache = new MembroExternoCache(membroExternoClient, propriedades, new SimpleMeterRegistry());
+    }
+
+    private static MembroDTO membro(String nome) {
+        return MembroDTO.builder().nome(nome).atribuicao("funcionario").identificadorExterno("func-001").build();
+    }
+
+    @Test
+    void consultar_ConsultasSimultaneas_DevemGerarUmaUnicaChamada() throws Exception {
+        CompletableFuture<Optional<MembroDTO>> resposta = new CompletableFuture<>();
+        when(membroExternoClient.consultarAsync("func-001")).thenReturn(resposta);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Optional<MembroDTO>>> consultas = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            consultas.add(executor.submit(() -> membroExternoCache.consultar("func-001")));
+        }
+        Thread.sleep(100);
+        resposta.complete(Optional.of(membro("Maria")));
+
+        for (Future<Optional<MembroDTO>> consulta : consultas) {
+            assertEquals("Maria", consulta.get(5, TimeUnit.SECONDS).orElseThrow().getNome());
+        }
+        executor.shutdown();
+        verify(membroExternoClient, times(1)).consultarAsync("func-001");
+    }
+
+    @Test
+    void consultar_IdentificadorInexistente_DeveFicarEmCacheNegativo() {
+        when(membroExternoClient.consultarAsync("inexistente"))
+                .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+
+        assertTrue(membroExternoCache.consultar("inexistente").isEmpty());
+        assertTrue(membroExternoCache.consultar("inexistente").isEmpty());
+        verify(membroExternoClient, times(1)).consultarAsync("inexistente");
+    }
+
+    @Test
+    void consultar_ValorVencido_DeveServirAntigoERecarregarEmSegundoPlano() throws Exception {
+        CompletableFuture<Optional<MembroDTO>> recarga = new CompletableFuture<>();
+        when(membroExternoClient.consultarAsync("func-001"))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(membro("Versão 1"))))
+                .thenReturn(recarga);
+
+        assertEquals("Versão 1", membroExternoCache.consultar("func-001").orElseThrow().getNome());
+        Thread.sleep(300);
+
+        // A recarga ainda não terminou: o valor antigo continua sendo servido sem bloquear
+        assertEquals("Versão 1", membroExternoCache.consultar("func-001").orElseThrow().getNome());
+        recarga.complete(Optional.of(membro("Versão 2")));
+        assertEquals("Versão 2", membroExternoCache.consultar("func-001").orElseThrow().getNome());
+        verify(membroExternoClient, times(2)).consultarAsync("func-001");
+    }
+
+    @Test
+    void consultar_FalhaNaApi_DevePropagarExcecaoSemCachear() {
+        when(membroExternoClient.consultarAsync("func-001"))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("API fora do ar")))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(membro("Maria"))));
+
+        assertThrows(IllegalStateException.class, () -> membroExternoCache.consultar("func-001"));
+        assertEquals("Maria", membroExternoCache.consultar("func-001").orElseThrow().getNome());
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.GerenciadorPortfolios;
+
+import com.example.GerenciadorPortfolios.client.MembroExternoClient;
+import com.example.GerenciadorPortfolios.config.MembroExternoProperties;
+import com.example.GerenciadorPortfolios.config.RestTemplateConfig;
+import com.example.GerenciadorPortfolios.dto.MembroDTO;
+import com.example.GerenciadorPortfolios.exception.ServicoExternoIndisponivelException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Servidor HTTP local simulando a API de membros, para medir latência e falhas sem rede
+class MembroExternoClientTest {
+
+    private HttpServer servidor;
+    private ExecutorService executor;
+    private final AtomicInteger chamadas = new AtomicInteger();
+    private volatile int statusResposta = 200;
+    private volatile long atrasoMs = 0;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        servidor = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        servidor.setExecutor(Executors.newFixedThreadPool(8));
+        servidor.createContext("/membros", this::responder);
+        servidor.start();
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        servidor.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void responder(HttpExchange exchange) throws IOException {
+        chamadas.incrementAndGet();
+        try {
+            Thread.sleep(atrasoMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        String identificador = exchange.getRequestURI().getPath().replace("/membros/", "");
+        byte[] corpo = ("{\"nome\":\"Maria\",\"atribuicao\":\"funcionario\",\"identificadorExterno\":\"" +
+                identificador + "\"}").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        if (statusResposta != 200) {
+            exchange.sendResponseHeaders(statusResposta, -1);
+        } else {
+            exchange.sendResponseHeaders(200, corpo.length);
+            exchange.getResponseBody().write(corpo);
+        }
+        exchange.close();
+    }
+
+    private MembroExternoClient criarCliente(Duration timeoutLeitura, int tentativas, int janelaCircuito) {
+        MembroExternoProperties propriedades = new MembroExternoProperties(
+                "http://127.0.0.1:" + servidor.getAddress().getPort() + "/membros",
+                false, Duration.ofSeconds(1), timeoutLeitura, 10, 10, tentativas,
+                Duration.ofMillis(10), 50, janelaCircuito, Duration.ofSeconds(30),
+                new MembroExternoProperties.CacheConsulta(100, Duration.ofMinutes(1), Duration.ofMinutes(10),
+                        Duration.ofSeconds(30)));
+        return new MembroExternoClient(new RestTemplateConfig().restTemplate(propriedades), propriedades, executor);
+    }
+
+    @Test
+    void consultar_DeveRetornarMembroDaApi() {
+        MembroExternoClient cliente = criarCliente(Duration.ofSeconds(1), 3, 10);
+
+        Optional<MembroDTO> membro = cliente.consultar("func-001");
+
+        assertTrue(membro.isPresent());
+        assertEquals("func-001", membro.get().getIdentificadorExterno());
+    }
+
+    @Test
+    void consultar_NaoEncontrado_DeveRetornarVazioSemRetentar() {
+        statusResposta = 404;
+        MembroExternoClient cliente = criarCliente(Duration.ofSeconds(1), 3, 10);
+
+        assertTrue(cliente.consultar("inexistente").isEmpty());
+        assertEquals(1, chamadas.get());
+    }
+
+    @Test
+    void consultar_ErroDoServidor_DeveRetentarComBackoff() {
+        statusResposta = 503;
+        MembroExternoClient cliente = criarCliente(Duration.ofSeconds(1), 3, 10);
+
+        assertThrows(ServicoExternoIndisponivelException.class, () -> cliente.consultar("func-001"));
+        assertEquals(3, chamadas.get());
+    }
+
+    @Test
+    void criar_ErroDoServidor_NaoDeveRetentar() {
+        statusResposta = 503;
+        MembroExternoClient cliente = criarCliente(Duration.ofSeconds(1), 3, 10);
+        MembroDTO membro = MembroDTO.builder().nome("Maria").atribuicao("funcionario").build();
+
+        assertThrows(ServicoExternoIndisponivelException.class, () -> cliente.criar(membro));
+        assertEquals(1, chamadas.get());
+    }
+
+    @Test
+    void consultar_RespostaLenta_DeveRespeitarTimeoutDeLeitura() {
+        atrasoMs = 1000;
+        MembroExternoClient cliente = criarCliente(Duration.ofMillis(100), 1, 10);
+
+        long inicio = System.nanoTime();
+        assertThrows(ServicoExternoIndisponivelException.class, () -> cliente.consultar("func-001"));
+        long duracaoMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+
+        assertTrue(duracaoMs < 900, "Timeout de leitura não respeitado: " + duracaoMs + "ms");
+    }
+
+    @Test
+    void consultar_FalhasSeguidas_DeveAbrirCircuitoEFalharSemChamarApi() {
+        statusResposta = 500;
+        MembroExternoClient cliente = criarCliente(Duration.ofSeconds(1), 1, 4);
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(ServicoExternoIndisponivelException.class, () -> cliente.consultar("func-001"));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, cliente.estadoCircuito());
+
+        int chamadasAntes = chamadas.get();
+        assertThrows(ServicoExternoIndisponivelException.class, () -> cliente.consultar("func-001"));
+        assertEquals(chamadasAntes, chamadas.get());
+    }
+
+    @Test
+    void consultarAsync_DeveExecutarChamadasConcorrentes() throws Exception {
+        atrasoMs = 200;
+        MembroExternoClient cliente = criarCliente(Duration.ofSeconds(1), 1, 10);
+
+        long inicio = System.nanoTime();
+        CompletableFuture<?>[] futuros = new CompletableFuture<?>[4];
+        for (int i = 0; i < futuros.length; i++) {
+            futuros[i] = cliente.consultarAsync("func-" + i);
+        }
+        CompletableFuture.allOf(futuros).get(5, TimeUnit.SECONDS);
+        long duracaoMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+
+        assertEquals(4, chamadas.get());
+        assertTrue(duracaoMs < 700, "Chamadas assíncronas não foram concorrentes: " + duracaoMs + "ms");
+    }
+}
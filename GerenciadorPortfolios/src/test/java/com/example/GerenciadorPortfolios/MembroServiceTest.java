@@ -0,0 +1,75 @@
+package com.example.GerenciadorPortfolios;
+
+import com.example.GerenciadorPortfolios.client.MembroExternoCache;
+import com.example.GerenciadorPortfolios.client.MembroExternoClient;
+import com.example.GerenciadorPortfolios.config.CacheConfig;
+import com.example.GerenciadorPortfolios.model.Membro;
+import com.example.GerenciadorPortfolios.repository.MembroRepository;
+import com.example.GerenciadorPortfolios.service.MembroService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class MembroServiceTest {
+
+    @Mock
+    private MembroRepository membroRepository;
+
+    @Mock
+    private MembroExternoClient membroExternoClient;
+
+    @Mock
+    private MembroExternoCache membroExternoCache;
+
+    private ConcurrentMapCacheManager cacheManager;
+    private MembroService membroService;
+    private Membro membro;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager(CacheConfig.MEMBROS, CacheConfig.MEMBROS_POR_IDENTIFICADOR);
+        membroService = new MembroService(membroRepository, membroExternoClient, membroExternoCache, cacheManager);
+
+        membro = new Membro();
+        membro.setId(2L);
+        membro.setNome("Funcionário");
+        membro.setAtribuicao("funcionario");
+    }
+
+    @Test
+    void buscarMembrosPorIds_DeveConsultarBancoApenasParaAusentesNoCache() {
+        Membro emCache = new Membro();
+        emCache.setId(1L);
+        cacheManager.getCache(CacheConfig.MEMBROS).put(1L, emCache);
+        when(membroRepository.findAllByIdIn(Set.of(2L))).thenReturn(List.of(membro));
+
+        List<Membro> membros = membroService.buscarMembrosPorIds(Set.of(1L, 2L));
+
+        assertEquals(2, membros.size());
+        verify(membroRepository).findAllByIdIn(Set.of(2L));
+        assertSame(membro, cacheManager.getCache(CacheConfig.MEMBROS).get(2L, Membro.class));
+    }
+
+    @Test
+    void buscarMembrosPorIds_TodosEmCache_NaoDeveConsultarBanco() {
+        cacheManager.getCache(CacheConfig.MEMBROS).put(2L, membro);
+
+        List<Membro> membros = membroService.buscarMembrosPorIds(Set.of(2L));
+
+        assertEquals(List.of(membro), membros);
+        verifyNoInteractions(membroRepository);
+    }
+}
@@ -0,0 +1,230 @@
+package com.example.GerenciadorPortfolios;
+
+import com.example.GerenciadorPortfolios.model.Membro;
+import com.example.GerenciadorPortfolios.model.Projeto;
+import com.example.GerenciadorPortfolios.model.enums.StatusProjeto;
+import com.example.GerenciadorPortfolios.observabilidade.ContadorSqlHeadersAdvice;
+import com.example.GerenciadorPortfolios.observabilidade.OrcamentoSql;
+import com.example.GerenciadorPortfolios.repository.MembroAlocacaoRepository;
+import com.example.GerenciadorPortfolios.repository.MembroRepository;
+import com.example.GerenciadorPortfolios.repository.ProjetoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.method.HandlerMethod;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+// Cada endpoint declara seu orçamento de comandos SQL com @OrcamentoSql; o perfil debug expõe a
+// contagem da requisição no cabeçalho X-SQL-Comandos e o teste falha quando o orçamento é excedido
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"test", "debug"})
+class OrcamentoSqlIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProjetoRepository projetoRepository;
+
+    @Autowired
+    private MembroRepository membroRepository;
+
+    @Autowired
+    private MembroAlocacaoRepository membroAlocacaoRepository;
+
+    private List<Membro> funcionarios;
+    private Membro gerente;
+    private List<Projeto> projetos;
+
+    @BeforeEach
+    void setUp() {
+        gerente = membroRepository.save(Membro.builder().nome("Gerente").atribuicao("gerente")
+                .identificadorExterno("ger-1").build());
+        funcionarios = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            funcionarios.add(Membro.builder().nome("Funcionário " + i).atribuicao("funcionario")
+                    .identificadorExterno("func-" + i).build());
+        }
+        funcionarios = membroRepository.saveAll(funcionarios);
+
+        projetos = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            projetos.add(Projeto.builder()
+                    .nome("Projeto " + i)
+                    .dataInicio(LocalDate.now())
+                    .previsaoTermino(LocalDate.now().plusMonths(2))
+                    .orcamentoTotal(new BigDecimal("50000"))
+                    .status(StatusProjeto.EM_ANALISE)
+                    .gerente(gerente)
+                    .membros(new HashSet<>(funcionarios.subList(i % 5, i % 5 + 3)))
+                    .build());
+        }
+        projetos = projetoRepository.saveAll(projetos);
+        membroAlocacaoRepository.recalcular();
+    }
+
+    @AfterEach
+    void tearDown() {
+        projetoRepository.deleteAll();
+        membroRepository.deleteAll();
+    }
+
+    @Test
+    void listarTodos_DeveRespeitarOrcamento() throws Exception {
+        verificarOrcamento(get("/api/projetos").param("size", "20").with(httpBasic("user", "user123")));
+    }
+
+    @Test
+    void listarFatia_ComFiltros_DeveRespeitarOrcamento() throws Exception {
+        verificarOrcamento(get("/api/projetos")
+                .with(httpBasic("user", "user123"))
+                .param("contagem", "false")
+                .param("status", "EM_ANALISE", "INICIADO")
+                .param("gerenteId", gerente.getId().toString())
+                .param("inicioDe", LocalDate.now().minusDays(1).toString()));
+    }
+
+    @Test
+    void listarPorCursor_DeveRespeitarOrcamento() throws Exception {
+        verificarOrcamento(get("/api/projetos").param("after", "").param("size", "20")
+                .with(httpBasic("user", "user123")));
+    }
+
+    @Test
+    void buscar_DeveRespeitarOrcamento() throws Exception {
+        verificarOrcamento(get("/api/projetos/busca")
+                .with(httpBasic("user", "user123"))
+                .param("q", "projeto"));
+    }
+
+    @Test
+    void buscarPorId_DeveRespeitarOrcamento() throws Exception {
+        verificarOrcamento(get("/api/projetos/" + projetos.get(0).getId()).with(httpBasic("user", "user123")));
+    }
+
+    @Test
+    void relatorio_DeveRespeitarOrcamento() throws Exception {
+        verificarOrcamento(get("/api/projetos/relatorio").with(httpBasic("user", "user123")));
+    }
+
+    @Test
+    void historico_DeveRespeitarOrcamento() throws Exception {
+        verificarOrcamento(get("/api/projetos/relatorio/historico")
+                .with(httpBasic("user", "user123"))
+                .param("de", LocalDate.now().minusDays(30).toString())
+                .param("ate", LocalDate.now().toString())
+                .param("granularidade", "SEMANA"));
+    }
+
+    @Test
+    void criar_ComDezMembros_DeveRespeitarOrcamento() throws Exception {
+        // Dez membros: o custo não pode crescer com a quantidade de membros (N+1)
+        verificarOrcamento(post("/api/projetos")
+                .with(httpBasic("admin", "admin123"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(projetoJson(criarMembrosLivres(10))));
+    }
+
+    @Test
+    void atualizar_ComDezMembros_DeveRespeitarOrcamento() throws Exception {
+        verificarOrcamento(put("/api/projetos/" + projetos.get(0).getId())
+                .with(httpBasic("admin", "admin123"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(projetoJson(StatusProjeto.ANALISE_REALIZADA, criarMembrosLivres(10))));
+    }
+
+    @Test
+    void atualizarStatus_DeveRespeitarOrcamento() throws Exception {
+        verificarOrcamento(patch("/api/projetos/" + projetos.get(0).getId() + "/status")
+                .with(httpBasic("admin", "admin123"))
+                .param("status", "ANALISE_REALIZADA"));
+    }
+
+    @Test
+    void cancelar_ProjetoAtivo_DeveRespeitarOrcamento() throws Exception {
+        verificarOrcamento(patch("/api/projetos/" + projetos.get(0).getId() + "/status")
+                .with(httpBasic("admin", "admin123"))
+                .param("status", "CANCELADO"));
+    }
+
+    @Test
+    void encerrar_DeveRespeitarOrcamento() throws Exception {
+        Projeto emAndamento = projetos.get(0);
+        emAndamento.setStatus(StatusProjeto.EM_ANDAMENTO);
+        projetoRepository.save(emAndamento);
+
+        verificarOrcamento(patch("/api/projetos/" + emAndamento.getId() + "/status")
+                .with(httpBasic("admin", "admin123"))
+                .param("status", "ENCERRADO"));
+    }
+
+    @Test
+    void excluir_DeveRespeitarOrcamento() throws Exception {
+        verificarOrcamento(delete("/api/projetos/" + projetos.get(0).getId())
+                .with(httpBasic("admin", "admin123")));
+    }
+
+    @Test
+    void criarMembro_DeveRespeitarOrcamento() throws Exception {
+        verificarOrcamento(post("/api/membros")
+                .with(httpBasic("admin", "admin123"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"nome\": \"Novo membro\", \"atribuicao\": \"funcionario\"}"));
+    }
+
+    private String criarMembrosLivres(int quantidade) {
+        List<Membro> livres = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            livres.add(Membro.builder().nome("Livre " + i).atribuicao("funcionario")
+                    .identificadorExterno("livre-" + i).build());
+        }
+        return membroRepository.saveAll(livres).stream()
+                .map(membro -> membro.getId().toString())
+                .collect(Collectors.joining(","));
+    }
+
+    private String projetoJson(String membrosIds) {
+        return projetoJson(StatusProjeto.EM_ANALISE, membrosIds);
+    }
+
+    private String projetoJson(StatusProjeto status, String membrosIds) {
+        return """
+                {"nome": "Projeto novo", "dataInicio": "%s", "previsaoTermino": "%s",
+                 "orcamentoTotal": 80000, "status": "%s", "gerenteId": %d, "membrosIds": [%s]}
+                """.formatted(LocalDate.now(), LocalDate.now().plusMonths(3), status, gerente.getId(), membrosIds);
+    }
+
+    private void verificarOrcamento(MockHttpServletRequestBuilder requisicao) throws Exception {
+        MvcResult resultado = mockMvc.perform(requisicao).andReturn();
+        MockHttpServletResponse resposta = resultado.getResponse();
+        assertTrue(resposta.getStatus() < 300, () -> "Requisição falhou: " + resposta.getStatus());
+
+        HandlerMethod endpoint = (HandlerMethod) resultado.getHandler();
+        OrcamentoSql orcamento = endpoint.getMethodAnnotation(OrcamentoSql.class);
+        assertNotNull(orcamento, () -> endpoint.getShortLogMessage() + " não declara @OrcamentoSql");
+
+        int comandos = Integer.parseInt(resposta.getHeader(ContadorSqlHeadersAdvice.CABECALHO_COMANDOS));
+        assertTrue(comandos <= orcamento.value(), () -> String.format("%s emitiu %d comandos SQL (orçamento: %d)",
+                endpoint.getShortLogMessage(), comandos, orcamento.value()));
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.GerenciadorPortfolios;
+
+import org.springframework.test.context.ActiveProfilesResolver;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+// Perfis do teste de carga: sempre "test" (H2) e, por cima, os de -Dcarga.perfis (ex.: prod),
+// para comparar configurações de pool e de log com o mesmo portfólio e a mesma mistura de operações
+class PerfisCargaResolver implements ActiveProfilesResolver {
+
+    @Override
+    public String[] resolve(Class<?> testClass) {
+        String adicionais = System.getProperty("carga.perfis", "");
+        return Stream.concat(Stream.of("test"), Arrays.stream(adicionais.split(",")))
+                .map(String::trim)
+                .filter(perfil -> !perfil.isEmpty())
+                .toArray(String[]::new);
+    }
+}
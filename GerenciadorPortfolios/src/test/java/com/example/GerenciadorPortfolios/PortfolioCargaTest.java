@@ -0,0 +1,285 @@
+package com.example.GerenciadorPortfolios;
+
+import com.example.GerenciadorPortfolios.dto.ProjetoDTO;
+import com.example.GerenciadorPortfolios.model.enums.StatusProjeto;
+import com.example.GerenciadorPortfolios.repository.ProjetoLoteRepository;
+import com.example.GerenciadorPortfolios.service.RelatorioPortfolioService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Carga ponta a ponta contra a aplicação real (HTTP + Spring + H2) com um portfólio sintético.
+// Fica fora do build padrão; parâmetros via -D, por exemplo:
+//   mvn test -Pcarga -Dtest=PortfolioCargaTest -Dcarga.projetos=1000000 -Dcarga.duracao=120
+// Perfis extras por cima de "test" com -Dcarga.perfis=prod
+@Tag("carga")
+@SpringBootTest(classes = {GerenciadorPortfoliosApplication.class, CredenciaisSemHashConfig.class},
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.main.allow-bean-definition-overriding=true")
+@ActiveProfiles(resolver = PerfisCargaResolver.class)
+class PortfolioCargaTest {
+
+    private static final int PROJETOS = Integer.getInteger("carga.projetos", 10_000);
+    private static final int CLIENTES = Integer.getInteger("carga.clientes", 16);
+    private static final int DURACAO_SEGUNDOS = Integer.getInteger("carga.duracao", 30);
+    private static final int AQUECIMENTO_SEGUNDOS = Integer.getInteger("carga.aquecimento", 10);
+    private static final long SEMENTE = Long.getLong("carga.semente", 42);
+    private static final int MEMBROS_LIVRES = 2_000;
+    private static final int TAMANHO_PAGINA = 20;
+
+    // Mistura de leitura e escrita, em pesos relativos
+    enum Operacao {
+        LISTAR(35), BUSCAR_POR_ID(35), RELATORIO(10), CRIAR(10), AVANCAR_STATUS(10);
+
+        private final int peso;
+
+        Operacao(int peso) {
+            this.peso = peso;
+        }
+    }
+
+    @LocalServerPort
+    private int porta;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProjetoLoteRepository projetoLoteRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private RelatorioPortfolioService relatorioPortfolioService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient cliente = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final String autorizacaoLeitura = basic("user", "user123");
+    private final String autorizacaoEscrita = basic("admin", "admin123");
+
+    private GeradorPortfolioSintetico.Portfolio portfolio;
+    // Cada membro livre aceita até 3 projetos ativos; a criação usa o próximo da fila
+    private final AtomicInteger proximoMembroLivre = new AtomicInteger();
+    // Projetos criados pela carga ainda em análise, prontos para avançar de status uma única vez
+    private final Queue<Long> projetosEmAnalise = new ConcurrentLinkedQueue<>();
+
+    @BeforeEach
+    void setUp() {
+        long inicio = System.nanoTime();
+        portfolio = new GeradorPortfolioSintetico(jdbcTemplate, projetoLoteRepository, transactionManager, SEMENTE)
+                .gerar(PROJETOS, MEMBROS_LIVRES);
+        // A carga via JDBC não publica eventos; o agregado do relatório é reconstruído uma vez
+        relatorioPortfolioService.recalcular();
+        System.out.printf("Portfólio com %d projetos gerado em %d ms%n",
+                PROJETOS, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+    }
+
+    @Test
+    void cargaMista_DeveReportarLatenciaEVazaoPorEndpoint() throws Exception {
+        executar(Duration.ofSeconds(AQUECIMENTO_SEGUNDOS), new SimpleMeterRegistry());
+
+        SimpleMeterRegistry registro = new SimpleMeterRegistry();
+        Map<Operacao, Long> erros = executar(Duration.ofSeconds(DURACAO_SEGUNDOS), registro);
+
+        String relatorio = formatarRelatorio(registro, erros);
+        System.out.println(relatorio);
+        String perfis = System.getProperty("carga.perfis", "").replace(',', '-');
+        Path arquivo = Path.of("target", "carga",
+                "portfolio-" + PROJETOS + (perfis.isBlank() ? "" : "-" + perfis) + ".csv");
+        gravarCsv(registro, erros, arquivo);
+
+        assertTrue(erros.values().stream().allMatch(quantidade -> quantidade == 0), relatorio);
+    }
+
+    private Map<Operacao, Long> executar(Duration duracao, SimpleMeterRegistry registro) throws Exception {
+        Map<Operacao, Timer> timers = new EnumMap<>(Operacao.class);
+        for (Operacao operacao : Operacao.values()) {
+            timers.put(operacao, Timer.builder("carga.requisicao")
+                    .tag("operacao", operacao.name())
+                    .publishPercentiles(0.5, 0.99)
+                    .percentilePrecision(2)
+                    // A janela dos percentis cobre a execução inteira
+                    .distributionStatisticExpiry(duracao.plusMinutes(1))
+                    .distributionStatisticBufferLength(1)
+                    .register(registro));
+        }
+        Map<Operacao, Long> erros = new ConcurrentHashMap<>();
+        long fim = System.nanoTime() + duracao.toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> clientes = new ArrayList<>();
+            for (int c = 0; c < CLIENTES; c++) {
+                Random random = new Random(SEMENTE + c);
+                clientes.add(executor.submit(() -> {
+                    while (System.nanoTime() < fim) {
+                        Operacao operacao = sortear(random);
+                        HttpRequest requisicao = montarRequisicao(operacao, random);
+                        long inicio = System.nanoTime();
+                        HttpResponse<String> resposta = cliente.send(requisicao, HttpResponse.BodyHandlers.ofString());
+                        timers.get(operacao).record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+                        processarResposta(operacao, resposta, erros);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> resultado : clientes) {
+                resultado.get();
+            }
+        }
+        return erros;
+    }
+
+    private static Operacao sortear(Random random) {
+        int pesoTotal = Arrays.stream(Operacao.values()).mapToInt(operacao -> operacao.peso).sum();
+        int sorteio = random.nextInt(pesoTotal);
+        for (Operacao operacao : Operacao.values()) {
+            sorteio -= operacao.peso;
+            if (sorteio < 0) {
+                return operacao;
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private HttpRequest montarRequisicao(Operacao operacao, Random random) throws IOException {
+        String base = "http://localhost:" + porta + "/api/projetos";
+        List<Long> projetos = portfolio.projetosIds();
+        return switch (operacao) {
+            case LISTAR -> get(base + "?size=" + TAMANHO_PAGINA + "&page=" +
+                    random.nextInt(Math.max(1, projetos.size() / TAMANHO_PAGINA)));
+            case BUSCAR_POR_ID -> get(base + "/" + projetos.get(random.nextInt(projetos.size())));
+            case RELATORIO -> get(base + "/relatorio");
+            case CRIAR -> HttpRequest.newBuilder(URI.create(base))
+                    .header("Authorization", autorizacaoEscrita)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(novoProjeto(random))))
+                    .build();
+            case AVANCAR_STATUS -> {
+                Long id = projetosEmAnalise.poll();
+                // Sem projetos criados ainda, avança um projeto qualquer até o cancelamento (sempre permitido)
+                StatusProjeto status = id != null ? StatusProjeto.ANALISE_REALIZADA : StatusProjeto.CANCELADO;
+                long alvo = id != null ? id : projetos.get(random.nextInt(projetos.size()));
+                yield HttpRequest.newBuilder(URI.create(base + "/" + alvo + "/status?status=" + status))
+                        .header("Authorization", autorizacaoEscrita)
+                        .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                        .build();
+            }
+        };
+    }
+
+    private ProjetoDTO novoProjeto(Random random) {
+        List<Long> livres = portfolio.membrosLivresIds();
+        int indice = proximoMembroLivre.getAndIncrement();
+        return ProjetoDTO.builder()
+                .nome("Projeto de carga " + indice)
+                .dataInicio(LocalDate.now())
+                .previsaoTermino(LocalDate.now().plusMonths(1 + random.nextInt(12)))
+                .orcamentoTotal(java.math.BigDecimal.valueOf(10_000 + random.nextInt(990_000)))
+                .descricao("Criado durante o teste de carga")
+                .status(StatusProjeto.EM_ANALISE)
+                .gerenteId(portfolio.gerentesIds().get(random.nextInt(portfolio.gerentesIds().size())))
+                .membrosIds(Set.of(livres.get((indice / 3) % livres.size())))
+                .build();
+    }
+
+    private void processarResposta(Operacao operacao, HttpResponse<String> resposta, Map<Operacao, Long> erros)
+            throws IOException {
+        int esperado = operacao == Operacao.CRIAR ? 201 : 200;
+        if (resposta.statusCode() != esperado) {
+            if (erros.merge(operacao, 1L, Long::sum) == 1) {
+                System.err.printf("%s falhou com %d: %s%n", operacao, resposta.statusCode(), resposta.body());
+            }
+            return;
+        }
+        erros.putIfAbsent(operacao, 0L);
+        if (operacao == Operacao.CRIAR) {
+            projetosEmAnalise.add(objectMapper.readValue(resposta.body(), ProjetoDTO.class).getId());
+        }
+    }
+
+    private HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).header("Authorization", autorizacaoLeitura).GET().build();
+    }
+
+    private static String basic(String usuario, String senha) {
+        return "Basic " + Base64.getEncoder().encodeToString((usuario + ":" + senha).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String formatarRelatorio(SimpleMeterRegistry registro, Map<Operacao, Long> erros) {
+        StringBuilder relatorio = new StringBuilder(String.format(
+                "%nCarga com %d projetos, %d clientes, %d s%n%-16s %10s %8s %10s %10s %10s %10s%n",
+                PROJETOS, CLIENTES, DURACAO_SEGUNDOS,
+                "operação", "requisições", "erros", "req/s", "p50 (ms)", "p99 (ms)", "máx (ms)"));
+        for (Operacao operacao : Operacao.values()) {
+            Timer timer = timer(registro, operacao);
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            relatorio.append(String.format("%-16s %10d %8d %10.1f %10.1f %10.1f %10.1f%n",
+                    operacao, timer.count(), erros.getOrDefault(operacao, 0L),
+                    (double) timer.count() / DURACAO_SEGUNDOS,
+                    percentil(snapshot, 0.5), percentil(snapshot, 0.99), snapshot.max(TimeUnit.MILLISECONDS)));
+        }
+        return relatorio.toString();
+    }
+
+    private void gravarCsv(SimpleMeterRegistry registro, Map<Operacao, Long> erros, Path arquivo) throws IOException {
+        Files.createDirectories(arquivo.getParent());
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8))) {
+            writer.println("operacao,requisicoes,erros,req_s,p50_ms,p99_ms,max_ms");
+            for (Operacao operacao : Operacao.values()) {
+                Timer timer = timer(registro, operacao);
+                HistogramSnapshot snapshot = timer.takeSnapshot();
+                writer.printf(Locale.ROOT, "%s,%d,%d,%.1f,%.1f,%.1f,%.1f%n",
+                        operacao, timer.count(), erros.getOrDefault(operacao, 0L),
+                        (double) timer.count() / DURACAO_SEGUNDOS,
+                        percentil(snapshot, 0.5), percentil(snapshot, 0.99), snapshot.max(TimeUnit.MILLISECONDS));
+            }
+        }
+    }
+
+    private static Timer timer(SimpleMeterRegistry registro, Operacao operacao) {
+        return registro.get("carga.requisicao").tag("operacao", operacao.name()).timer();
+    }
+
+    private static double percentil(HistogramSnapshot snapshot, double percentil) {
+        for (ValueAtPercentile valor : snapshot.percentileValues()) {
+            if (valor.percentile() == percentil) {
+                return valor.value(TimeUnit.MILLISECONDS);
+            }
+        }
+        return Double.NaN;
+    }
+}
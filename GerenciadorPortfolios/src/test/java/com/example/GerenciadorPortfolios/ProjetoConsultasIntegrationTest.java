@@ -0,0 +1,184 @@
+package com.example.GerenciadorPortfolios;
+
+import com.example.GerenciadorPortfolios.dto.FiltroProjetoDTO;
+import com.example.GerenciadorPortfolios.dto.ProjetoDTO;
+import com.example.GerenciadorPortfolios.model.Membro;
+import com.example.GerenciadorPortfolios.model.Projeto;
+import com.example.GerenciadorPortfolios.model.enums.StatusProjeto;
+import com.example.GerenciadorPortfolios.repository.MembroRepository;
+import com.example.GerenciadorPortfolios.repository.ProjetoRepository;
+import com.example.GerenciadorPortfolios.service.ProjetoService;
+import com.example.GerenciadorPortfolios.observabilidade.MetricasAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ProjetoConsultasIntegrationTest {
+
+    @Autowired
+    private ProjetoService projetoService;
+
+    @Autowired
+    private ProjetoRepository projetoRepository;
+
+    @Autowired
+    private MembroRepository membroRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+    private Long primeiroProjetoId;
+    private Long primeiroGerenteId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        List<Membro> gerentes = new ArrayList<>();
+        List<Membro> funcionarios = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            gerentes.add(Membro.builder().nome("Gerente " + i).atribuicao("gerente")
+                    .identificadorExterno("ger-" + i).build());
+            funcionarios.add(Membro.builder().nome("Funcionário " + i).atribuicao("funcionario")
+                    .identificadorExterno("func-" + i).build());
+        }
+        membroRepository.saveAll(gerentes);
+        membroRepository.saveAll(funcionarios);
+
+        List<Projeto> projetos = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            projetos.add(Projeto.builder()
+                    .nome("Projeto " + i)
+                    .dataInicio(LocalDate.now())
+                    .previsaoTermino(LocalDate.now().plusMonths(2))
+                    .orcamentoTotal(new BigDecimal(50000 + i * 1000))
+                    .status(i % 3 == 0 ? StatusProjeto.INICIADO : StatusProjeto.EM_ANALISE)
+                    .gerente(gerentes.get(i % gerentes.size()))
+                    .membros(new HashSet<>(Set.of(funcionarios.get(i % 5), funcionarios.get((i + 1) % 5))))
+                    .build());
+        }
+        primeiroProjetoId = projetoRepository.saveAll(projetos).get(0).getId();
+        primeiroGerenteId = gerentes.get(0).getId();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        projetoRepository.deleteAll();
+        membroRepository.deleteAll();
+    }
+
+    @Test
+    void listarTodos_DeveExecutarQuantidadeConstanteDeConsultasPorPagina() {
+        Page<ProjetoDTO> pagina = projetoService.listarTodos(new FiltroProjetoDTO(), PageRequest.of(0, 20));
+
+        assertEquals(20, pagina.getContent().size());
+        assertTrue(pagina.getContent().stream().allMatch(p -> p.getMembrosIds().size() == 2));
+        assertTrue(pagina.getContent().stream().allMatch(p -> p.getGerenteId() != null));
+        // página + contagem + membros da página
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertTrue(meterRegistry.get(MetricasAspect.METRICA)
+                .tag("operacao", "ProjetoService.listarTodos").tag("resultado", "sucesso").timer().count() > 0);
+    }
+
+    @Test
+    void listarTodos_ComFiltrosCombinados_DeveFiltrarNoBanco() {
+        FiltroProjetoDTO filtro = FiltroProjetoDTO.builder()
+                .status(List.of(StatusProjeto.INICIADO))
+                .gerenteId(primeiroGerenteId)
+                .orcamentoMinimo(new BigDecimal("60000"))
+                .build();
+
+        Page<ProjetoDTO> pagina = projetoService.listarTodos(filtro, PageRequest.of(0, 20));
+
+        assertEquals(List.of("Projeto 15"), pagina.getContent().stream().map(ProjetoDTO::getNome).toList());
+        assertEquals(1, pagina.getTotalElements());
+    }
+
+    @Test
+    void listarFatia_DevePercorrerPaginasSemConsultaDeContagem() {
+        FiltroProjetoDTO filtro = FiltroProjetoDTO.builder().status(List.of(StatusProjeto.EM_ANALISE)).build();
+        Set<Long> ids = new HashSet<>();
+
+        List<Boolean> temProxima = new ArrayList<>();
+        for (int pagina = 0; pagina < 3; pagina++) {
+            statistics.clear();
+            Slice<ProjetoDTO> fatia = projetoService.listarFatia(filtro, PageRequest.of(pagina, 8));
+            fatia.forEach(projeto -> ids.add(projeto.getId()));
+            temProxima.add(fatia.hasNext());
+            // página + membros da página, sem COUNT
+            assertEquals(2, statistics.getPrepareStatementCount());
+        }
+
+        assertEquals(20, ids.size());
+        assertEquals(List.of(true, true, false), temProxima);
+    }
+
+    @Test
+    void buscarPorId_DeveCarregarProjetoEMembrosEmUmaConsulta() {
+        ProjetoDTO projeto = projetoService.buscarPorId(primeiroProjetoId);
+
+        assertEquals(2, projeto.getMembrosIds().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void resumirPorStatus_DeveAgregarStatusRiscoEDuracaoEmUmaConsulta() {
+        Membro gerente = membroRepository.findById(primeiroGerenteId).orElseThrow();
+        for (int dias : new int[]{30, 61}) {
+            projetoRepository.save(Projeto.builder()
+                    .nome("Encerrado " + dias)
+                    .dataInicio(LocalDate.of(2024, 1, 1))
+                    .previsaoTermino(LocalDate.of(2024, 3, 1))
+                    .dataRealTermino(LocalDate.of(2024, 1, 1).plusDays(dias))
+                    .orcamentoTotal(new BigDecimal("600000"))
+                    .status(StatusProjeto.ENCERRADO)
+                    .gerente(gerente)
+                    .build());
+        }
+        statistics.clear();
+
+        Map<StatusProjeto, ProjetoRepository.ResumoStatus> resumos = projetoRepository.resumirPorStatus().stream()
+                .collect(Collectors.toMap(ProjetoRepository.ResumoStatus::getStatus, resumo -> resumo));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(Set.of(StatusProjeto.INICIADO, StatusProjeto.EM_ANALISE, StatusProjeto.ENCERRADO), resumos.keySet());
+        assertEquals(10L, resumos.get(StatusProjeto.INICIADO).getQuantidade());
+        assertEquals(10L, resumos.get(StatusProjeto.INICIADO).getRiscoBaixo());
+        assertEquals(0, new BigDecimal("635000").compareTo(resumos.get(StatusProjeto.INICIADO).getOrcamentoTotal()));
+
+        ProjetoRepository.ResumoStatus encerrados = resumos.get(StatusProjeto.ENCERRADO);
+        assertEquals(2L, encerrados.getQuantidade());
+        assertEquals(0L, encerrados.getRiscoBaixo());
+        assertEquals(2L, encerrados.getRiscoAlto());
+        assertEquals(2L, encerrados.getComTermino());
+        assertEquals(91L, encerrados.getDiasAteTermino());
+    }
+}
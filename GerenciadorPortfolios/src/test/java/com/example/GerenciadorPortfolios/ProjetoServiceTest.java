@@ -1,6 +1,11 @@
 package com.example.GerenciadorPortfolios;
 
+import com.example.GerenciadorPortfolios.dto.FiltroProjetoDTO;
 import com.example.GerenciadorPortfolios.dto.ProjetoDTO;
+import com.example.GerenciadorPortfolios.dto.RelatorioPortfolioDTO;
+import com.example.GerenciadorPortfolios.event.ProjetoAlteradoEvent;
+import com.example.GerenciadorPortfolios.event.TipoEventoProjeto;
+import com.example.GerenciadorPortfolios.exception.ConflitoVersaoException;
 import com.example.GerenciadorPortfolios.exception.OperacaoNaoPermitidaException;
 import com.example.GerenciadorPortfolios.exception.RecursoNaoEncontradoException;
 import com.example.GerenciadorPortfolios.exception.TransicaoStatusInvalidaException;
@@ -8,19 +13,34 @@ import com.example.GerenciadorPortfolios.exception.ValidacaoException;
 import com.example.GerenciadorPortfolios.mapper.ProjetoMapper;
 import com.example.GerenciadorPortfolios.model.Membro;
 import com.example.GerenciadorPortfolios.model.Projeto;
+import com.example.GerenciadorPortfolios.model.enums.ClassificacaoRisco;
 import com.example.GerenciadorPortfolios.model.enums.StatusProjeto;
+import com.example.GerenciadorPortfolios.repository.EventoProjetoRepository;
+import com.example.GerenciadorPortfolios.repository.MembroAlocacaoRepository;
+import com.example.GerenciadorPortfolios.repository.ProjetoLoteRepository;
 import com.example.GerenciadorPortfolios.repository.ProjetoRepository;
 import com.example.GerenciadorPortfolios.service.MembroService;
 import com.example.GerenciadorPortfolios.service.ProjetoService;
-import lombok.SneakyThrows;
+import com.example.GerenciadorPortfolios.service.RelatorioPortfolioService;
+import com.example.GerenciadorPortfolios.service.ValidadorTransicaoStatus;
+import com.example.GerenciadorPortfolios.dto.JanelaProjetosDTO;
+import com.example.GerenciadorPortfolios.dto.ResultadoImportacaoDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.data.domain.*;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -43,6 +63,29 @@ class ProjetoServiceTest {
     @Mock
     private ProjetoMapper projetoMapper;
 
+    @Mock
+    private ProjetoLoteRepository projetoLoteRepository;
+
+    @Mock
+    private MembroAlocacaoRepository membroAlocacaoRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private RelatorioPortfolioService relatorioPortfolioService;
+
+    @Mock
+    private EventoProjetoRepository eventoProjetoRepository;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private ValidadorTransicaoStatus validadorTransicaoStatus = new ValidadorTransicaoStatus(meterRegistry);
+
     @InjectMocks
     private ProjetoService projetoService;
 
@@ -86,10 +129,10 @@ class ProjetoServiceTest {
     }
 
     @Test
-    void criarProjeto_DeveRetornarProjetoCriado() throws TransicaoStatusInvalidaException, ValidacaoException {
+    void criarProjeto_DeveRetornarProjetoCriado() {
         when(projetoMapper.toEntity(projetoDTO)).thenReturn(projeto);
         when(membroService.buscarMembroPorId(1L)).thenReturn(gerente);
-        when(membroService.buscarMembroPorId(2L)).thenReturn(membro);
+        when(membroService.buscarMembrosPorIds(Set.of(2L))).thenReturn(List.of(membro));
         when(projetoRepository.save(projeto)).thenReturn(projeto);
         when(projetoMapper.toDTO(projeto)).thenReturn(projetoDTO);
 
@@ -98,6 +141,28 @@ class ProjetoServiceTest {
         assertNotNull(result);
         assertEquals(projetoDTO.getNome(), result.getNome());
         verify(projetoRepository, times(1)).save(projeto);
+        verify(membroAlocacaoRepository).reservar(List.of(2L), 3);
+        verify(membroService, never()).buscarMembroPorId(2L);
+    }
+
+    @Test
+    void criarProjeto_ComMembrosInvalidos_DeveReportarTodasAsViolacoes() {
+        Membro outroGerente = new Membro();
+        outroGerente.setId(3L);
+        outroGerente.setNome("Outro Gerente");
+        outroGerente.setAtribuicao("gerente");
+        projetoDTO.setMembrosIds(Set.of(2L, 3L));
+
+        when(projetoMapper.toEntity(projetoDTO)).thenReturn(projeto);
+        when(membroService.buscarMembroPorId(1L)).thenReturn(gerente);
+        when(membroService.buscarMembrosPorIds(Set.of(2L, 3L))).thenReturn(List.of(membro, outroGerente));
+        when(membroAlocacaoRepository.reservar(anyCollection(), eq(3))).thenReturn(List.of(2L));
+
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> projetoService.criar(projetoDTO));
+
+        assertTrue(ex.getMessage().contains("Limite máximo é 3"));
+        assertTrue(ex.getMessage().contains("Outro Gerente"));
+        verify(projetoRepository, never()).save(any());
     }
 
     @Test
@@ -114,25 +179,155 @@ class ProjetoServiceTest {
     }
 
     @Test
-    void atualizarStatus_TransicaoValida_DeveAtualizarStatus() throws TransicaoStatusInvalidaException, ValidacaoException, RecursoNaoEncontradoException {
-        projeto.setStatus(StatusProjeto.EM_ANALISE);
-        when(projetoRepository.findById(1L)).thenReturn(Optional.of(projeto));
-        when(projetoRepository.save(projeto)).thenReturn(projeto);
+    void importarEmLote_DeveGravarValidosEReportarErrosPorItem() {
+        ProjetoDTO invalido = new ProjetoDTO();
+        invalido.setNome("Projeto Inválido");
+        invalido.setStatus(StatusProjeto.EM_ANDAMENTO);
+        invalido.setGerenteId(2L);
+        invalido.setMembrosIds(Set.of(99L));
+
+        when(membroService.buscarMembrosPorIds(Set.of(1L, 2L, 99L))).thenReturn(List.of(gerente, membro));
+        when(projetoMapper.toEntity(projetoDTO)).thenReturn(projeto);
+
+        ResultadoImportacaoDTO resultado = projetoService.importarEmLote(List.of(projetoDTO, invalido));
+
+        assertEquals(2, resultado.getTotalRecebidos());
+        assertEquals(1, resultado.getTotalImportados());
+        assertEquals(1, resultado.getErros().size());
+        assertEquals(1, resultado.getErros().get(0).getIndice());
+        assertTrue(resultado.getErros().get(0).getMensagem().contains("Membro não encontrado com ID: 99"));
+        verify(projetoLoteRepository, times(1)).inserir(List.of(projeto));
+        verify(membroService, never()).buscarMembroPorId(anyLong());
+    }
+
+    @Test
+    void listarPorCursor_DeveRetornarCursorDaProximaJanela() {
+        Window<Projeto> janela = Window.from(List.of(projeto), i -> ScrollPosition.keyset(), true);
+        when(projetoRepository.findBy(eq(ScrollPosition.keyset()), any(), eq(Limit.of(1)))).thenReturn(janela);
+        when(projetoMapper.toDTO(projeto)).thenReturn(projetoDTO);
+
+        JanelaProjetosDTO primeira = projetoService.listarPorCursor(null, "", "nome", 1);
+
+        assertTrue(primeira.isTemProximo());
+        assertNotNull(primeira.getProximoCursor());
+
+        ScrollPosition esperada = ScrollPosition.forward(Map.of("nome", "Projeto Teste", "id", 1L));
+        when(projetoRepository.findBy(eq(esperada), eq(Sort.by("nome").and(Sort.by("id"))), eq(Limit.of(1))))
+                .thenReturn(Window.from(List.of(), i -> ScrollPosition.keyset(), false));
+
+        JanelaProjetosDTO segunda = projetoService.listarPorCursor(null, primeira.getProximoCursor(), null, 1);
+
+        assertFalse(segunda.isTemProximo());
+        assertNull(segunda.getProximoCursor());
+        verify(projetoRepository, never()).count();
+    }
+
+    @Test
+    void listarPorCursor_ComCursorInvalido_DeveLancarExcecao() {
+        assertThrows(ValidacaoException.class,
+                () -> projetoService.listarPorCursor(null, "cursor-invalido", null, 10));
+    }
+
+    @Test
+    void listarTodos_ComRisco_DeveFiltrarNoBanco() {
+        Pageable pageable = PageRequest.of(0, 20);
+        when(projetoRepository.findAll(ArgumentMatchers.<Specification<Projeto>>any(), eq(pageable)))
+                .thenReturn(new PageImpl<>(List.of(projeto)));
+        when(projetoMapper.toDTO(projeto)).thenReturn(projetoDTO);
+
+        Page<ProjetoDTO> resultado = projetoService.listarTodos(
+                FiltroProjetoDTO.builder().risco(ClassificacaoRisco.ALTO).build(), pageable);
+
+        assertEquals(1, resultado.getTotalElements());
+        verify(projetoRepository, never()).findAll(pageable);
+    }
+
+    @Test
+    void classificacaoRisco_DeveSerCalculadaAoGravar() {
+        projeto.setOrcamentoTotal(new BigDecimal("600000"));
+        projeto.atualizarClassificacaoRisco();
+        assertEquals(ClassificacaoRisco.ALTO, projeto.getClassificacaoRisco());
+
+        projeto.setOrcamentoTotal(new BigDecimal("50000"));
+        projeto.setPrevisaoTermino(projeto.getDataInicio().plusMonths(5));
+        projeto.atualizarClassificacaoRisco();
+        assertEquals(ClassificacaoRisco.MEDIO, projeto.getClassificacaoRisco());
+    }
+
+    @Test
+    void atualizarStatus_TransicaoValida_DeveAtualizarComUpdateCondicional() throws Exception {
+        projeto.setStatus(StatusProjeto.ANALISE_REALIZADA);
+        when(projetoRepository.atualizarStatusSeIgual(1L, StatusProjeto.EM_ANALISE, StatusProjeto.ANALISE_REALIZADA, null))
+                .thenReturn(1);
+        when(projetoRepository.findComMembrosById(1L)).thenReturn(Optional.of(projeto));
         when(projetoMapper.toDTO(projeto)).thenReturn(projetoDTO);
 
-        ProjetoDTO result = projetoService.atualizarStatus(1L, StatusProjeto.ANALISE_REALIZADA);
+        ProjetoDTO result = projetoService.atualizarStatus(1L, StatusProjeto.ANALISE_REALIZADA, null);
 
         assertNotNull(result);
-        verify(projetoRepository, times(1)).save(projeto);
+        verify(projetoRepository, never()).findById(any());
+        verify(projetoRepository, never()).save(any());
     }
 
     @Test
-    void atualizarStatus_TransicaoInvalida_DeveLancarExcecao() {
-        projeto.setStatus(StatusProjeto.EM_ANALISE);
-        when(projetoRepository.findById(1L)).thenReturn(Optional.of(projeto));
+    void atualizarStatus_TransicaoInvalida_DeveLancarExcecaoSemCarregarProjeto() {
+        when(projetoRepository.findEstadoById(1L)).thenReturn(Optional.of(estado(StatusProjeto.EM_ANALISE, 0L)));
 
         assertThrows(TransicaoStatusInvalidaException.class,
-                () -> projetoService.atualizarStatus(1L, StatusProjeto.INICIADO));
+                () -> projetoService.atualizarStatus(1L, StatusProjeto.INICIADO, null));
+        assertEquals(1, meterRegistry.get("portfolio.projetos.transicoes.rejeitadas")
+                .tag("de", "EM_ANALISE").tag("para", "INICIADO").counter().count());
+        verify(projetoRepository).atualizarStatusSeIgual(1L, StatusProjeto.ANALISE_APROVADA, StatusProjeto.INICIADO, null);
+        verify(projetoRepository, never()).findById(any());
+        verify(projetoRepository, never()).findComMembrosById(any());
+    }
+
+    @Test
+    void atualizarStatus_ComVersaoDesatualizada_DeveLancarConflito() {
+        when(projetoRepository.findEstadoById(1L)).thenReturn(Optional.of(estado(StatusProjeto.EM_ANALISE, 3L)));
+
+        assertThrows(ConflitoVersaoException.class,
+                () -> projetoService.atualizarStatus(1L, StatusProjeto.ANALISE_REALIZADA, 2L));
+    }
+
+    @Test
+    void atualizar_ComVersaoDesatualizada_DeveLancarConflito() {
+        projeto.setVersao(3L);
+        when(projetoRepository.findById(1L)).thenReturn(Optional.of(projeto));
+
+        assertThrows(ConflitoVersaoException.class, () -> projetoService.atualizar(1L, projetoDTO, 2L));
+        verify(projetoRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void atualizarStatus_ParaCancelado_DeveLiberarVagasDosMembros() throws Exception {
+        when(projetoRepository.findEstadoById(1L)).thenReturn(Optional.of(estado(StatusProjeto.INICIADO, 0L)));
+        when(projetoRepository.atualizarStatusSeIgual(1L, StatusProjeto.INICIADO, StatusProjeto.CANCELADO, null))
+                .thenReturn(1);
+        when(projetoRepository.findComMembrosById(1L)).thenReturn(Optional.of(projeto));
+
+        projetoService.atualizarStatus(1L, StatusProjeto.CANCELADO, null);
+
+        verify(membroAlocacaoRepository).liberarPorProjeto(1L);
+    }
+
+    @Test
+    void atualizar_ComTrocaDeMembros_DeveReservarApenasOsNovosELiberarOsRemovidos() {
+        Membro novo = new Membro();
+        novo.setId(4L);
+        novo.setNome("Novo Membro");
+        novo.setAtribuicao("funcionario");
+        projetoDTO.setMembrosIds(Set.of(4L));
+        projetoDTO.setStatus(StatusProjeto.ANALISE_REALIZADA);
+        when(projetoRepository.findById(1L)).thenReturn(Optional.of(projeto));
+        when(membroService.buscarMembroPorId(1L)).thenReturn(gerente);
+        when(membroService.buscarMembrosPorIds(Set.of(4L))).thenReturn(List.of(novo));
+        when(projetoRepository.saveAndFlush(projeto)).thenReturn(projeto);
+
+        projetoService.atualizar(1L, projetoDTO, null);
+
+        verify(membroAlocacaoRepository).reservar(List.of(4L), 3);
+        verify(membroAlocacaoRepository).liberar(Set.of(2L));
     }
 
     @Test
@@ -145,22 +340,42 @@ class ProjetoServiceTest {
     }
 
     @Test
-    void gerarRelatorioPortfolio_DeveRetornarDadosCorretos() {
-        when(projetoRepository.countProjetosByStatus()).thenReturn(List.of(
-                Map.of("status", "EM_ANALISE", "quantidade", 5L),
-                Map.of("status", "EM_ANDAMENTO", "quantidade", 3L)
-        ));
-        when(projetoRepository.sumOrcamentoByStatus()).thenReturn(List.of(
-                Map.of("status", "EM_ANALISE", "total", new BigDecimal("100000")),
-                Map.of("status", "EM_ANDAMENTO", "total", new BigDecimal("300000"))
-        ));
-        when(projetoRepository.calcularMediaDuracaoProjetosEncerrados()).thenReturn(60.5);
-        when(projetoRepository.countMembrosUnicosAlocados()).thenReturn(15L);
+    void atualizarStatus_DeveRegistrarEventoComEstadoAnteriorEAtual() throws Exception {
+        projeto.setStatus(StatusProjeto.ANALISE_REALIZADA);
+        when(projetoRepository.atualizarStatusSeIgual(1L, StatusProjeto.EM_ANALISE, StatusProjeto.ANALISE_REALIZADA, null))
+                .thenReturn(1);
+        when(projetoRepository.findComMembrosById(1L)).thenReturn(Optional.of(projeto));
+
+        projetoService.atualizarStatus(1L, StatusProjeto.ANALISE_REALIZADA, null);
+
+        verify(eventoProjetoRepository).registrar(argThat((ProjetoAlteradoEvent evento) ->
+                evento.tipo() == TipoEventoProjeto.MUDANCA_STATUS &&
+                        evento.anterior().status() == StatusProjeto.EM_ANALISE &&
+                        evento.atual().status() == StatusProjeto.ANALISE_REALIZADA));
+    }
+
+    @Test
+    void gerarRelatorioPortfolio_DeveUsarRelatorioMaterializado() {
+        RelatorioPortfolioDTO relatorio = RelatorioPortfolioDTO.builder()
+                .mediaDuracaoProjetosEncerrados(60.5)
+                .build();
+        when(relatorioPortfolioService.obterRelatorio()).thenReturn(relatorio);
+
+        assertSame(relatorio, projetoService.gerarRelatorioPortfolio());
+        verify(projetoRepository, never()).resumirPorStatus();
+    }
 
-        var relatorio = projetoService.gerarRelatorioPortfolio();
+    private static ProjetoRepository.EstadoProjeto estado(StatusProjeto status, Long versao) {
+        return new ProjetoRepository.EstadoProjeto() {
+            @Override
+            public StatusProjeto getStatus() {
+                return status;
+            }
 
-        assertNotNull(relatorio);
-        assertEquals(2, relatorio.getQuantidadeProjetosPorStatus().size());
-        assertEquals(60.5, relatorio.getMediaDuracaoProjetosEncerrados());
+            @Override
+            public Long getVersao() {
+                return versao;
+            }
+        };
     }
-}
\ No newline at end of file
+}
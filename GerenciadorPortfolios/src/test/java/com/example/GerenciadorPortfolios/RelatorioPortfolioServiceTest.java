@@ -0,0 +1,200 @@
+package com.example.GerenciadorPortfolios;
+
+import com.example.GerenciadorPortfolios.config.EventosProjetoProperties;
+import com.example.GerenciadorPortfolios.dto.RelatorioPortfolioDTO;
+import com.example.GerenciadorPortfolios.event.EventoProjeto;
+import com.example.GerenciadorPortfolios.event.EventosProjetoDespachados;
+import com.example.GerenciadorPortfolios.event.ProjetoAlteradoEvent;
+import com.example.GerenciadorPortfolios.event.ProjetoSnapshot;
+import com.example.GerenciadorPortfolios.model.enums.ClassificacaoRisco;
+import com.example.GerenciadorPortfolios.model.enums.StatusProjeto;
+import com.example.GerenciadorPortfolios.event.TipoEventoProjeto;
+import com.example.GerenciadorPortfolios.repository.EventoProjetoRepository;
+import com.example.GerenciadorPortfolios.repository.ProjetoRepository;
+import com.example.GerenciadorPortfolios.service.RelatorioPortfolioService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class RelatorioPortfolioServiceTest {
+
+    @Mock
+    private ProjetoRepository projetoRepository;
+
+    @Mock
+    private EventoProjetoRepository eventoProjetoRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private RelatorioPortfolioService relatorioPortfolioService;
+
+    private final ProjectionFactory projecoes = new SpelAwareProxyProjectionFactory();
+
+    @BeforeEach
+    void setUp() {
+        relatorioPortfolioService = new RelatorioPortfolioService(projetoRepository, eventoProjetoRepository,
+                transactionManager, new EventosProjetoProperties(500, Duration.ofSeconds(2), Duration.ofDays(90)));
+        when(eventoProjetoRepository.idsRecentes(any())).thenReturn(List.of(97L, 98L, 100L));
+        when(projetoRepository.resumirPorStatus()).thenReturn(List.of(
+                resumo(StatusProjeto.EM_ANALISE, 5L, "100000", 4L, 1L, 0L, 0L, 0L),
+                resumo(StatusProjeto.EM_ANDAMENTO, 3L, "300000", 1L, 0L, 2L, 0L, 0L),
+                resumo(StatusProjeto.ENCERRADO, 2L, "200000", 1L, 1L, 0L, 2L, 121L)
+        ));
+        when(projetoRepository.countProjetosPorMembro()).thenReturn(List.of(
+                projecoes.createProjection(ProjetoRepository.ProjetosPorMembro.class,
+                        Map.of("membroId", 2L, "quantidade", 2L)),
+                projecoes.createProjection(ProjetoRepository.ProjetosPorMembro.class,
+                        Map.of("membroId", 3L, "quantidade", 1L))
+        ));
+    }
+
+    private ProjetoRepository.ResumoStatus resumo(StatusProjeto status, long quantidade, String orcamento,
+                                                  long riscoBaixo, long riscoMedio, long riscoAlto,
+                                                  long comTermino, long diasAteTermino) {
+        Map<String, Object> linha = new HashMap<>();
+        linha.put("status", status);
+        linha.put("quantidade", quantidade);
+        linha.put("orcamentoTotal", new BigDecimal(orcamento));
+        linha.put("riscoBaixo", riscoBaixo);
+        linha.put("riscoMedio", riscoMedio);
+        linha.put("riscoAlto", riscoAlto);
+        linha.put("comTermino", comTermino);
+        linha.put("diasAteTermino", diasAteTermino);
+        return projecoes.createProjection(ProjetoRepository.ResumoStatus.class, linha);
+    }
+
+    private void despachar(long id, ProjetoSnapshot anterior, ProjetoSnapshot atual) {
+        TipoEventoProjeto tipo = anterior == null ? TipoEventoProjeto.CRIACAO
+                : atual == null ? TipoEventoProjeto.EXCLUSAO : TipoEventoProjeto.MUDANCA_STATUS;
+        relatorioPortfolioService.aoDespacharEventos(new EventosProjetoDespachados(List.of(
+                new EventoProjeto(id, tipo, LocalDateTime.now(), new ProjetoAlteradoEvent(anterior, atual)))));
+    }
+
+    @Test
+    void obterRelatorio_DeveRetornarDadosCorretos() {
+        RelatorioPortfolioDTO relatorio = relatorioPortfolioService.obterRelatorio();
+
+        assertEquals(3, relatorio.getQuantidadeProjetosPorStatus().size());
+        assertEquals(60.5, relatorio.getMediaDuracaoProjetosEncerrados());
+        assertEquals(2L, relatorio.getTotalMembrosUnicosAlocados());
+        assertEquals(6L, relatorio.getQuantidadeProjetosPorRisco().get(ClassificacaoRisco.BAIXO));
+        assertEquals(new BigDecimal("200000"), relatorio.getTotalOrcadoPorStatus().get(StatusProjeto.ENCERRADO));
+    }
+
+    @Test
+    void obterRelatorio_DeveAplicarAlteracoesSemConsultarNovamente() {
+        relatorioPortfolioService.obterRelatorio();
+
+        ProjetoSnapshot emAndamento = new ProjetoSnapshot(10L, StatusProjeto.EM_ANDAMENTO, ClassificacaoRisco.BAIXO,
+                new BigDecimal("50000"),
+                LocalDate.of(2024, 1, 1), null, Set.of(3L, 4L));
+        ProjetoSnapshot encerrado = new ProjetoSnapshot(10L, StatusProjeto.ENCERRADO, ClassificacaoRisco.BAIXO,
+                new BigDecimal("50000"),
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), Set.of(3L, 4L));
+        despachar(101L, null, emAndamento);
+        despachar(102L, emAndamento, encerrado);
+
+        RelatorioPortfolioDTO relatorio = relatorioPortfolioService.obterRelatorio();
+
+        assertEquals(3L, relatorio.getQuantidadeProjetosPorStatus().get(StatusProjeto.EM_ANDAMENTO));
+        assertEquals(3L, relatorio.getQuantidadeProjetosPorStatus().get(StatusProjeto.ENCERRADO));
+        assertEquals(new BigDecimal("300000"), relatorio.getTotalOrcadoPorStatus().get(StatusProjeto.EM_ANDAMENTO));
+        assertEquals(151.0 / 3, relatorio.getMediaDuracaoProjetosEncerrados(), 0.0001);
+        assertEquals(3L, relatorio.getTotalMembrosUnicosAlocados());
+        assertEquals(7L, relatorio.getQuantidadeProjetosPorRisco().get(ClassificacaoRisco.BAIXO));
+        verify(projetoRepository, times(1)).resumirPorStatus();
+    }
+
+    @Test
+    void aoDespacharEventos_ExclusaoDeveRemoverDoAgregado() {
+        relatorioPortfolioService.obterRelatorio();
+
+        ProjetoSnapshot emAnalise = new ProjetoSnapshot(11L, StatusProjeto.EM_ANALISE, ClassificacaoRisco.BAIXO,
+                new BigDecimal("100000"),
+                LocalDate.of(2024, 1, 1), null, Set.of(3L));
+        despachar(101L, emAnalise, null);
+
+        RelatorioPortfolioDTO relatorio = relatorioPortfolioService.obterRelatorio();
+
+        assertEquals(4L, relatorio.getQuantidadeProjetosPorStatus().get(StatusProjeto.EM_ANALISE));
+        assertEquals(BigDecimal.ZERO, relatorio.getTotalOrcadoPorStatus().get(StatusProjeto.EM_ANALISE));
+        assertEquals(1L, relatorio.getTotalMembrosUnicosAlocados());
+    }
+
+    @Test
+    void aoDespacharEventos_DeveIgnorarEventosJaRefletidosNaMarca() {
+        relatorioPortfolioService.obterRelatorio();
+
+        ProjetoSnapshot emAnalise = new ProjetoSnapshot(12L, StatusProjeto.EM_ANALISE, ClassificacaoRisco.BAIXO,
+                new BigDecimal("10000"),
+                LocalDate.of(2024, 1, 1), null, Set.of(9L));
+        despachar(100L, null, emAnalise);
+
+        RelatorioPortfolioDTO relatorio = relatorioPortfolioService.obterRelatorio();
+
+        assertEquals(5L, relatorio.getQuantidadeProjetosPorStatus().get(StatusProjeto.EM_ANALISE));
+        assertEquals(2L, relatorio.getTotalMembrosUnicosAlocados());
+    }
+
+    @Test
+    void recalcular_DeveReaplicarEventosEntreguesDuranteOCalculo() {
+        ProjetoSnapshot criadoAntes = new ProjetoSnapshot(13L, StatusProjeto.EM_ANALISE, ClassificacaoRisco.BAIXO,
+                new BigDecimal("10000"),
+                LocalDate.of(2024, 1, 1), null, Set.of(9L));
+        ProjetoSnapshot criadoDepois = new ProjetoSnapshot(14L, StatusProjeto.EM_ANALISE, ClassificacaoRisco.BAIXO,
+                new BigDecimal("20000"),
+                LocalDate.of(2024, 1, 1), null, Set.of(8L));
+        List<ProjetoRepository.ResumoStatus> resumos = projetoRepository.resumirPorStatus();
+        // O despachante entrega um evento já contado na consulta (id 100) e um posterior à marca (id 101)
+        when(projetoRepository.resumirPorStatus()).thenAnswer(invocacao -> {
+            despachar(100L, null, criadoAntes);
+            despachar(101L, null, criadoDepois);
+            return resumos;
+        });
+
+        relatorioPortfolioService.recalcular();
+        RelatorioPortfolioDTO relatorio = relatorioPortfolioService.obterRelatorio();
+
+        assertEquals(6L, relatorio.getQuantidadeProjetosPorStatus().get(StatusProjeto.EM_ANALISE));
+        assertEquals(new BigDecimal("120000"), relatorio.getTotalOrcadoPorStatus().get(StatusProjeto.EM_ANALISE));
+        assertEquals(3L, relatorio.getTotalMembrosUnicosAlocados());
+    }
+
+    @Test
+    void aoDespacharEventos_LacunaConfirmadaDepoisDoSnapshot_DeveSerAplicadaUmaVez() {
+        relatorioPortfolioService.obterRelatorio();
+
+        // id 99 ainda não estava confirmado quando o snapshot com a marca 100 foi lido
+        ProjetoSnapshot confirmadoDepois = new ProjetoSnapshot(15L, StatusProjeto.EM_ANALISE, ClassificacaoRisco.BAIXO,
+                new BigDecimal("10000"),
+                LocalDate.of(2024, 1, 1), null, Set.of(9L));
+        despachar(99L, null, confirmadoDepois);
+        despachar(99L, null, confirmadoDepois);
+        despachar(98L, null, confirmadoDepois);
+
+        RelatorioPortfolioDTO relatorio = relatorioPortfolioService.obterRelatorio();
+
+        assertEquals(6L, relatorio.getQuantidadeProjetosPorStatus().get(StatusProjeto.EM_ANALISE));
+        assertEquals(new BigDecimal("110000"), relatorio.getTotalOrcadoPorStatus().get(StatusProjeto.EM_ANALISE));
+        assertEquals(3L, relatorio.getTotalMembrosUnicosAlocados());
+    }
+}
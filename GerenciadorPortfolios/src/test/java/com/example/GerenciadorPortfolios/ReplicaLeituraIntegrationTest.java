@@ -0,0 +1,96 @@
+package com.example.GerenciadorPortfolios;
+
+import com.example.GerenciadorPortfolios.config.MonitorReplica;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Primário e réplica são dois H2 independentes (sem replicação): um projeto gravado só na réplica
+// mostra para onde cada leitura foi
+@SpringBootTest(properties = {
+        "portfolio.replica.datasource.url=jdbc:h2:mem:replica_leitura;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "portfolio.replica.datasource.username=sa",
+        "portfolio.replica.consulta-atraso=SELECT atraso FROM atraso_replica",
+        "portfolio.replica.atraso-maximo=10s",
+        "portfolio.replica.intervalo-verificacao-ms=3600000"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReplicaLeituraIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MonitorReplica monitorReplica;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    private JdbcTemplate replica;
+    private long projetoSomenteNaReplica;
+
+    @BeforeEach
+    void setUp() {
+        Flyway.configure().dataSource(replicaDataSource).locations("classpath:db/migration/h2").load().migrate();
+        replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("CREATE TABLE IF NOT EXISTS atraso_replica (atraso DOUBLE PRECISION)");
+        replica.update("DELETE FROM atraso_replica");
+        replica.update("INSERT INTO atraso_replica VALUES (0)");
+
+        replica.update("INSERT INTO membros (nome, atribuicao, identificador_externo) VALUES ('Gerente', 'gerente', 'ger-replica')");
+        Long gerenteId = replica.queryForObject("SELECT MAX(id) FROM membros", Long.class);
+        replica.update("INSERT INTO projetos (nome, orcamento_total, status, classificacao_risco, gerente_id) " +
+                "VALUES ('Somente na réplica', 1000, 'EM_ANALISE', 'BAIXO', ?)", gerenteId);
+        projetoSomenteNaReplica = replica.queryForObject("SELECT MAX(id) FROM projetos", Long.class);
+        monitorReplica.verificar();
+    }
+
+    @AfterEach
+    void tearDown() {
+        replica.update("DELETE FROM projetos");
+        replica.update("DELETE FROM membros");
+    }
+
+    @Test
+    void buscarPorId_ComReplicaEmDia_DeveLerDaReplica() throws Exception {
+        assertTrue(monitorReplica.isDisponivel());
+
+        mockMvc.perform(get("/api/projetos/" + projetoSomenteNaReplica).with(httpBasic("user", "user123")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nome").value("Somente na réplica"));
+    }
+
+    @Test
+    void buscarPorId_ComReplicaAtrasadaOuInacessivel_DeveVoltarAoPrimario() throws Exception {
+        replica.update("UPDATE atraso_replica SET atraso = 60");
+        monitorReplica.verificar();
+        assertFalse(monitorReplica.isDisponivel());
+
+        mockMvc.perform(get("/api/projetos/" + projetoSomenteNaReplica).with(httpBasic("user", "user123")))
+                .andExpect(status().isNotFound());
+
+        // Consulta de atraso falhando também tira a réplica de uso
+        replica.execute("DROP TABLE atraso_replica");
+        monitorReplica.verificar();
+        assertFalse(monitorReplica.isDisponivel());
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.GerenciadorPortfolios;
+
+import com.example.GerenciadorPortfolios.observabilidade.SaturacaoPoolMetricas;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SaturacaoPoolMetricasTest {
+
+    private HikariDataSource dataSource;
+    private final SimpleMeterRegistry registro = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:saturacao_pool");
+        dataSource.setPoolName("teste");
+        dataSource.setMaximumPoolSize(4);
+        new SaturacaoPoolMetricas(Map.of("dataSource", dataSource)).bindTo(registro);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    void saturacao_DeveAcompanharConexoesEmUso() throws Exception {
+        try (Connection primeira = dataSource.getConnection(); Connection segunda = dataSource.getConnection()) {
+            assertEquals(0.5, registro.get("portfolio.db.pool.saturacao").tag("pool", "teste").gauge().value());
+            assertEquals(0.0, registro.get("portfolio.db.pool.fila").tag("pool", "teste").gauge().value());
+        }
+        assertEquals(0.0, registro.get("portfolio.db.pool.saturacao").tag("pool", "teste").gauge().value());
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.GerenciadorPortfolios;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Comparação de vazão entre threads de plataforma e virtual threads com a API de membros lenta.
+// Fica fora do build padrão; rodar com: mvn test -Pcarga
+@Tag("carga")
+class VirtualThreadsCargaTest {
+
+    private static final long ATRASO_API_MS = 200;
+    private static final int THREADS_TOMCAT = 10;
+    private static final int CLIENTES = 100;
+    private static final int REQUISICOES_POR_CLIENTE = 5;
+
+    private HttpServer apiLenta;
+    private final AtomicInteger sequencia = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        apiLenta = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        apiLenta.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        apiLenta.createContext("/membros", this::responder);
+        apiLenta.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        apiLenta.stop(0);
+    }
+
+    private void responder(HttpExchange exchange) throws IOException {
+        try {
+            Thread.sleep(ATRASO_API_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        String identificador = exchange.getRequestURI().getPath().replace("/membros/", "");
+        byte[] corpo = ("{\"nome\":\"Maria\",\"atribuicao\":\"funcionario\",\"identificadorExterno\":\"" +
+                identificador + "\"}").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, corpo.length);
+        exchange.getResponseBody().write(corpo);
+        exchange.close();
+    }
+
+    @Test
+    void virtualThreads_DevemAumentarVazaoComApiLenta() throws Exception {
+        double vazaoPlataforma = medirVazao(false);
+        double vazaoVirtual = medirVazao(true);
+
+        System.out.printf("Vazão com threads de plataforma (%d threads): %.1f req/s%n", THREADS_TOMCAT, vazaoPlataforma);
+        System.out.printf("Vazão com virtual threads: %.1f req/s%n", vazaoVirtual);
+        assertTrue(vazaoVirtual > vazaoPlataforma * 1.5,
+                "Virtual threads não aumentaram a vazão: " + vazaoVirtual + " x " + vazaoPlataforma);
+    }
+
+    private double medirVazao(boolean virtual) throws Exception {
+        // Argumentos de linha de comando têm precedência sobre application*.properties
+        String[] argumentos = {
+                "--server.port=0",
+                "--server.tomcat.threads.max=" + THREADS_TOMCAT,
+                "--spring.main.allow-bean-definition-overriding=true",
+                "--spring.datasource.url=jdbc:h2:mem:carga_" + (virtual ? "virtual" : "plataforma"),
+                "--membros.api.simulada=false",
+                "--membros.api.url=http://127.0.0.1:" + apiLenta.getAddress().getPort() + "/membros",
+                // O pool HTTP não deve ser o gargalo em nenhuma das duas configurações
+                "--membros.api.max-conexoes=" + CLIENTES,
+                "--membros.api.max-conexoes-por-rota=" + CLIENTES
+        };
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(
+                GerenciadorPortfoliosApplication.class, CredenciaisSemHashConfig.class)
+                .profiles(virtual ? new String[]{"test", "virtual"} : new String[]{"test"});
+
+        try (ConfigurableApplicationContext contexto = builder.run(argumentos)) {
+            String porta = contexto.getEnvironment().getProperty("local.server.port");
+            HttpClient cliente = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+            String autorizacao = "Basic " + Base64.getEncoder()
+                    .encodeToString("user:user123".getBytes(StandardCharsets.UTF_8));
+
+            // Aquecimento: conexões, JIT e inicialização preguiçosa do Spring MVC
+            executarCarga(cliente, porta, autorizacao, 20, 2);
+
+            long inicio = System.nanoTime();
+            int total = executarCarga(cliente, porta, autorizacao, CLIENTES, REQUISICOES_POR_CLIENTE);
+            double segundos = (System.nanoTime() - inicio) / 1_000_000_000.0;
+            return total / segundos;
+        }
+    }
+
+    private int executarCarga(HttpClient cliente, String porta, String autorizacao, int clientes, int requisicoes)
+            throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Integer>> resultados = new ArrayList<>();
+            for (int c = 0; c < clientes; c++) {
+                resultados.add(executor.submit(() -> {
+                    for (int r = 0; r < requisicoes; r++) {
+                        // Identificadores distintos para que o cache de consultas não esconda a latência da API
+                        HttpRequest requisicao = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + porta +
+                                        "/api/membros/externo/func-" + sequencia.incrementAndGet()))
+                                .header("Authorization", autorizacao)
+                                .GET()
+                                .build();
+                        HttpResponse<String> resposta = cliente.send(requisicao, HttpResponse.BodyHandlers.ofString());
+                        assertEquals(200, resposta.statusCode(), resposta.body());
+                    }
+                    return requisicoes;
+                }));
+            }
+            int total = 0;
+            for (Future<Integer> resultado : resultados) {
+                total += resultado.get(2, TimeUnit.MINUTES);
+            }
+            return total;
+        }
+    }
+}